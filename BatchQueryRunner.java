@@ -0,0 +1,169 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+// Non-interactive lookups: one query per line, results streamed out in input order.
+//
+// Queries:  symbol:Fe   z:26   name:ium   category:metal
+//
+// TSV output has one line per matching element
+//   query  atomicNumber  symbol  name  atomicWeight  category
+// plus "query NOT_FOUND" or "query ERROR message" lines. JSON Lines output
+// has one {"query":...,"results":[...]} object per query.
+//
+// Input is read in chunks; each chunk is answered in parallel and written
+// in order before the next chunk is read, so memory stays bounded.
+public class BatchQueryRunner {
+    public enum Format {
+        TSV,
+        JSONL
+    }
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final PeriodicTable periodicTable;
+    private final Format format;
+
+    public BatchQueryRunner(PeriodicTable periodicTable, Format format) {
+        this.periodicTable = periodicTable;
+        this.format = format;
+    }
+
+    // Arguments as given to: java PeriodicTableApp --batch [file] [--format=tsv|jsonl]
+    public static void run(PeriodicTable periodicTable, String[] args) throws IOException {
+        Format format = Format.TSV;
+        Path input = null;
+        for (String arg : args) {
+            if (arg.startsWith("--format=")) {
+                format = Format.valueOf(arg.substring("--format=".length()).toUpperCase(Locale.ROOT));
+            } else if (!arg.equals("--batch")) {
+                input = Path.of(arg);
+            }
+        }
+        BatchQueryRunner runner = new BatchQueryRunner(periodicTable, format);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try (Reader in = input != null
+                ? Files.newBufferedReader(input, StandardCharsets.UTF_8)
+                : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+            runner.run(in, out);
+        }
+        out.flush();
+    }
+
+    public void run(Reader input, Writer output) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader
+                ? (BufferedReader) input : new BufferedReader(input, 1 << 16);
+        String[] queries = new String[CHUNK_SIZE];
+        String[] answers = new String[CHUNK_SIZE];
+        while (true) {
+            int count = 0;
+            String line;
+            while (count < CHUNK_SIZE && (line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    queries[count++] = line.trim();
+                }
+            }
+            if (count == 0) {
+                break;
+            }
+            int chunkSize = count;
+            IntStream.range(0, chunkSize).parallel().forEach(i -> answers[i] = answer(queries[i]));
+            for (int i = 0; i < chunkSize; i++) {
+                output.write(answers[i]);
+                answers[i] = null;
+            }
+            if (chunkSize < CHUNK_SIZE) {
+                break;
+            }
+        }
+        output.flush();
+    }
+
+    // Full output for one query, including trailing newline(s)
+    public String answer(String query) {
+        Element[] results;
+        try {
+            results = lookup(query);
+        } catch (IllegalArgumentException e) {
+            return format == Format.JSONL ? errorJson(query, e.getMessage())
+                    : query + "\tERROR\t" + e.getMessage() + "\n";
+        }
+        return format == Format.JSONL ? toJson(query, results) : toTsv(query, results);
+    }
+
+    public Element[] lookup(String query) {
+        int colon = query.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("expected key:value");
+        }
+        String key = query.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+        String value = query.substring(colon + 1).trim();
+        switch (key) {
+            case "symbol":
+                return periodicTable.searchBySymbol(value);
+            case "z":
+            case "number":
+                try {
+                    return periodicTable.searchByAtomicNumber(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("not a number: " + value);
+                }
+            case "name":
+                return periodicTable.searchByName(value);
+            case "category":
+                return periodicTable.searchByCategory(value);
+            default:
+                throw new IllegalArgumentException("unknown key: " + key);
+        }
+    }
+
+    private static String toTsv(String query, Element[] results) {
+        if (results.length == 0) {
+            return query + "\tNOT_FOUND\n";
+        }
+        StringBuilder out = new StringBuilder(results.length * 64);
+        for (Element element : results) {
+            out.append(query).append('\t')
+                    .append(element.getAtomicNumber()).append('\t')
+                    .append(element.getSymbol()).append('\t')
+                    .append(element.getName()).append('\t')
+                    .append(element.getAtomicWeight()).append('\t')
+                    .append(element.getCategory()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String toJson(String query, Element[] results) {
+        StringBuilder out = new StringBuilder(64 + results.length * 256);
+        out.append("{\"query\":");
+        ElementJson.appendString(out, query);
+        out.append(",\"results\":[");
+        for (int i = 0; i < results.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            ElementJson.appendElement(out, results[i]);
+        }
+        out.append("]}\n");
+        return out.toString();
+    }
+
+    private static String errorJson(String query, String message) {
+        StringBuilder out = new StringBuilder(64);
+        out.append("{\"query\":");
+        ElementJson.appendString(out, query);
+        out.append(",\"error\":");
+        ElementJson.appendString(out, message);
+        out.append("}\n");
+        return out.toString();
+    }
+}
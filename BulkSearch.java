@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+// Filters and counts rows from a Spliterator, splitting the work across a
+// ForkJoinPool when there are enough rows to pay for it. Sources at or under
+// SEQUENTIAL_THRESHOLD rows (the whole element table, for one) are scanned on
+// the calling thread, and forked tasks stop splitting at that size.
+//
+// Results keep the source's encounter order. The source must not change while
+// a search runs, and the predicate must be safe to call from several threads.
+public final class BulkSearch {
+    public static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private BulkSearch() {
+    }
+
+    public static <T> List<T> filter(Spliterator<T> source, Predicate<? super T> predicate, ForkJoinPool pool) {
+        if (pool == null || source.estimateSize() <= SEQUENTIAL_THRESHOLD) {
+            return scan(source, predicate);
+        }
+        return pool.invoke(new FilterTask<>(source, predicate));
+    }
+
+    public static <T> long count(Spliterator<T> source, Predicate<? super T> predicate, ForkJoinPool pool) {
+        if (pool == null || source.estimateSize() <= SEQUENTIAL_THRESHOLD) {
+            return tally(source, predicate);
+        }
+        return pool.invoke(new CountTask<>(source, predicate));
+    }
+
+    private static <T> ArrayList<T> scan(Spliterator<T> rows, Predicate<? super T> predicate) {
+        ArrayList<T> matches = new ArrayList<>();
+        rows.forEachRemaining(row -> {
+            if (predicate.test(row)) {
+                matches.add(row);
+            }
+        });
+        return matches;
+    }
+
+    private static <T> long tally(Spliterator<T> rows, Predicate<? super T> predicate) {
+        long[] count = new long[1];
+        rows.forEachRemaining(row -> {
+            if (predicate.test(row)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    // trySplit() hands back the front part, which is forked; this task keeps
+    // the rest, so joining front then back preserves order
+    private static final class FilterTask<T> extends RecursiveTask<ArrayList<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<T> rows;
+        private final Predicate<? super T> predicate;
+
+        FilterTask(Spliterator<T> rows, Predicate<? super T> predicate) {
+            this.rows = rows;
+            this.predicate = predicate;
+        }
+
+        @Override
+        protected ArrayList<T> compute() {
+            Spliterator<T> front;
+            if (rows.estimateSize() <= SEQUENTIAL_THRESHOLD || (front = rows.trySplit()) == null) {
+                return scan(rows, predicate);
+            }
+            FilterTask<T> frontTask = new FilterTask<>(front, predicate);
+            frontTask.fork();
+            ArrayList<T> back = compute();
+            ArrayList<T> matches = frontTask.join();
+            matches.addAll(back);
+            return matches;
+        }
+    }
+
+    private static final class CountTask<T> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<T> rows;
+        private final Predicate<? super T> predicate;
+
+        CountTask(Spliterator<T> rows, Predicate<? super T> predicate) {
+            this.rows = rows;
+            this.predicate = predicate;
+        }
+
+        @Override
+        protected Long compute() {
+            Spliterator<T> front;
+            if (rows.estimateSize() <= SEQUENTIAL_THRESHOLD || (front = rows.trySplit()) == null) {
+                return tally(rows, predicate);
+            }
+            CountTask<T> frontTask = new CountTask<>(front, predicate);
+            frontTask.fork();
+            long back = compute();
+            return frontTask.join() + back;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+// Behaviour checks for BulkSearch and ElementQuery: parallel results match
+// sequential ones in content and order, and composed predicates match a
+// plain loop.
+//   java BulkSearchCheck
+public class BulkSearchCheck {
+    public static void main(String[] args) {
+        Checks checks = new Checks("BulkSearchCheck");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallelMatchesSequential(checks, pool);
+            splitting(checks, pool);
+            composedQueries(checks, pool);
+        } finally {
+            pool.shutdown();
+        }
+        checks.finish();
+    }
+
+    private static void parallelMatchesSequential(Checks checks, ForkJoinPool pool) {
+        Random random = new Random(42);
+        int threshold = BulkSearch.SEQUENTIAL_THRESHOLD;
+        int[] sizes = {0, 1, threshold - 1, threshold, threshold + 1, 3 * threshold + 17, 100_000};
+        for (int size : sizes) {
+            List<Integer> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(random.nextInt(1000));
+            }
+            Predicate<Integer> even = value -> value % 2 == 0;
+            List<Integer> expected = new ArrayList<>();
+            for (Integer value : rows) {
+                if (even.test(value)) {
+                    expected.add(value);
+                }
+            }
+            checks.equal(expected, BulkSearch.filter(rows.spliterator(), even, null), "sequential filter of " + size);
+            checks.equal(expected, BulkSearch.filter(rows.spliterator(), even, pool), "parallel filter of " + size + " keeps order");
+            checks.equal((long) expected.size(), BulkSearch.count(rows.spliterator(), even, pool), "parallel count of " + size);
+        }
+    }
+
+    private static void splitting(Checks checks, ForkJoinPool pool) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            rows.add(i);
+        }
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> all = BulkSearch.filter(rows.spliterator(), value -> threads.add(Thread.currentThread()) || true, pool);
+        checks.equal(rows, all, "every row comes back once, in order");
+        checks.that(threads.size() > 1, "a large source is split across workers, used " + threads.size());
+
+        threads.clear();
+        BulkSearch.filter(rows.subList(0, BulkSearch.SEQUENTIAL_THRESHOLD).spliterator(),
+                value -> threads.add(Thread.currentThread()) || true, pool);
+        checks.equal(Set.of(Thread.currentThread()), threads, "a small source stays on the calling thread");
+
+        // A source that can't split is still scanned, just by one task
+        Spliterator<Integer> unsplittable = Spliterators.spliteratorUnknownSize(rows.iterator(), Spliterator.ORDERED);
+        checks.equal(100_000L, BulkSearch.count(unsplittable, value -> value % 2 == 0, pool), "unsplittable source");
+    }
+
+    private static void composedQueries(Checks checks, ForkJoinPool pool) {
+        PeriodicTable table = new PeriodicTable();
+        List<Element> expected = new ArrayList<>();
+        for (Element element : table) {
+            if (element.getName().toLowerCase().contains("ium") && element.getAtomicWeight() > 200
+                    && element.getPeriodNumber() == 7) {
+                expected.add(element);
+            }
+        }
+        ElementQuery query = table.query().nameContains("IUM").weightAbove(200).period(7);
+        checks.that(!expected.isEmpty(), "composed query has something to find");
+        checks.equal(expected, query.toList(), "composed query matches a plain loop");
+        checks.equal((long) expected.size(), query.count(), "composed count");
+
+        // Over a large collection, parallel and sequential agree
+        List<Element> rows = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            rows.add(table.elementAt(random.nextInt(table.getSize())));
+        }
+        Predicate<Element> gasOrHeavy = ((Predicate<Element>) element -> element.getCategory().contains("Gas"))
+                .or(element -> element.getAtomicWeight() > 250);
+        List<Element> sequential = ElementQuery.over(rows).where(gasOrHeavy).categoryContains("noble").toList();
+        List<Element> parallel = ElementQuery.over(rows).where(gasOrHeavy).categoryContains("noble").parallel(pool).toList();
+        checks.that(!sequential.isEmpty(), "or-composed query has something to find");
+        checks.equal(sequential, parallel, "parallel query matches sequential");
+        checks.equal(table.query().weightBetween(10, 20).toList(),
+                List.of(table.searchByWeightRange(10, 20)), "weightBetween agrees with searchByWeightRange");
+    }
+}
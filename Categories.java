@@ -0,0 +1,58 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Interns category names ("Transition Metal", "Noble Gas", ...) to small ids.
+// Ids are shared by every table so they can be stored in compact columns.
+public final class Categories {
+    private static final Map<String, Short> ids = new HashMap<>();
+    private static volatile String[] names = new String[0];
+    private static volatile String[] lowerNames = new String[0];
+
+    private Categories() {
+    }
+
+    public static synchronized short intern(String name) {
+        Short id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        short newId = (short) names.length;
+        String[] newNames = Arrays.copyOf(names, newId + 1);
+        String[] newLowerNames = Arrays.copyOf(lowerNames, newId + 1);
+        newNames[newId] = name;
+        // Char by char, the way queries are compared (see NameIndex.containsIgnoreCase)
+        char[] lower = name.toCharArray();
+        for (int i = 0; i < lower.length; i++) {
+            lower[i] = Character.toLowerCase(lower[i]);
+        }
+        newLowerNames[newId] = new String(lower);
+        ids.put(name, newId);
+        lowerNames = newLowerNames;
+        names = newNames;
+        return newId;
+    }
+
+    // Exact, case-insensitive lookup; -1 if the category was never interned
+    public static int idOf(String name) {
+        String[] lower = lowerNames;
+        for (int i = 0; i < lower.length; i++) {
+            if (lower[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String name(int id) {
+        return names[id];
+    }
+
+    public static String lowerName(int id) {
+        return lowerNames[id];
+    }
+
+    public static int count() {
+        return names.length;
+    }
+}
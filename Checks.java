@@ -0,0 +1,35 @@
+// Minimal assertions for the runnable *Check classes, which stand in for a
+// test tree:
+//   java QueryCacheCheck
+// prints each failure and exits with status 1 if there were any.
+final class Checks {
+    private final String suite;
+    private int passed;
+    private int failed;
+
+    Checks(String suite) {
+        this.suite = suite;
+    }
+
+    void that(boolean condition, String description) {
+        if (condition) {
+            passed++;
+        } else {
+            failed++;
+            System.out.println("FAIL " + suite + ": " + description);
+        }
+    }
+
+    void equal(Object expected, Object actual, String description) {
+        that(java.util.Objects.equals(expected, actual),
+                description + " (expected " + expected + ", got " + actual + ")");
+    }
+
+    // Prints the totals and exits non-zero on any failure
+    void finish() {
+        System.out.println(suite + ": " + passed + " passed, " + failed + " failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// Structure-of-arrays copy of a table: one primitive column per hot field,
+// indexed by element slot. Scans run as plain loops over the arrays instead
+// of following Element and String references.
+public class ColumnStore {
+    private final int size;
+    private final int[] atomicNumbers;
+    private final double[] atomicWeights;
+    private final byte[] groups;
+    private final byte[] periods;
+    private final short[] categoryIds;
+    // Up to two symbol chars packed per slot: first << 16 | second
+    private final int[] symbols;
+
+    public ColumnStore(Element[] elements, int size) {
+        this.size = size;
+        this.atomicNumbers = new int[size];
+        this.atomicWeights = new double[size];
+        this.groups = new byte[size];
+        this.periods = new byte[size];
+        this.categoryIds = new short[size];
+        this.symbols = new int[size];
+        for (int i = 0; i < size; i++) {
+            Element element = elements[i];
+            atomicNumbers[i] = element.getAtomicNumber();
+            atomicWeights[i] = element.getAtomicWeight();
+            groups[i] = (byte) element.getGroupNumber();
+            periods[i] = (byte) element.getPeriodNumber();
+            categoryIds[i] = Categories.intern(element.getCategory());
+            symbols[i] = packSymbol(element.getSymbol());
+        }
+    }
+
+    public static int packSymbol(String symbol) {
+        char first = symbol.length() > 0 ? symbol.charAt(0) : 0;
+        char second = symbol.length() > 1 ? symbol.charAt(1) : 0;
+        return (first << 16) | second;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int atomicNumber(int slot) {
+        return atomicNumbers[slot];
+    }
+
+    public double atomicWeight(int slot) {
+        return atomicWeights[slot];
+    }
+
+    public int group(int slot) {
+        return groups[slot];
+    }
+
+    public int period(int slot) {
+        return periods[slot];
+    }
+
+    public int categoryId(int slot) {
+        return categoryIds[slot];
+    }
+
+    public int symbol(int slot) {
+        return symbols[slot];
+    }
+
+    // Slots with min <= weight <= max, written to out (room for size() slots)
+    public int weightRange(double min, double max, int[] out) {
+        double[] weights = atomicWeights;
+        int count = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double weight = weights[i];
+            out[count] = i;
+            // Branch-free append keeps the loop simple for the JIT
+            count += (weight >= min && weight <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    public int countWeightRange(double min, double max) {
+        double[] weights = atomicWeights;
+        int count = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double weight = weights[i];
+            count += (weight >= min && weight <= max) ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable, compact copy of an Element. Group/period/atomic number are stored
+// as primitives and the category as an interned id (see Categories), so
+// instances can be shared between threads without defensive copies.
+public record CompactElement(short atomicNumber, byte group, byte period, short categoryId,
+                             double atomicWeight, String symbol, String name,
+                             List<String> uses, String description) {
+
+    public CompactElement {
+        uses = uses == null ? List.of() : List.copyOf(uses);
+    }
+
+    public static CompactElement of(Element element) {
+        String[] uses = element.getUses();
+        return new CompactElement((short) element.getAtomicNumber(),
+                (byte) element.getGroupNumber(),
+                (byte) element.getPeriodNumber(),
+                Categories.intern(element.getCategory()),
+                element.getAtomicWeight(),
+                element.getSymbol(),
+                element.getName(),
+                uses == null ? List.of() : Arrays.asList(uses),
+                element.getDescription());
+    }
+
+    // Mutable copy for code that still works with Element
+    public Element toElement() {
+        return new Element(symbol, name, atomicNumber, atomicWeight, getGroup(), getPeriod(),
+                getCategory(), getUses(), description);
+    }
+
+    // Compatibility getters - same shapes as Element's
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAtomicNumber() {
+        return atomicNumber;
+    }
+
+    public double getAtomicWeight() {
+        return atomicWeight;
+    }
+
+    public String getGroup() {
+        return group == 0 ? "-" : String.valueOf(group);
+    }
+
+    public String getPeriod() {
+        return period == 0 ? "-" : String.valueOf(period);
+    }
+
+    public String getCategory() {
+        return Categories.name(categoryId);
+    }
+
+    public String[] getUses() {
+        return uses.toArray(new String[0]);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-3s %-15s (Z=%d)", symbol, name, (int) atomicNumber);
+    }
+}
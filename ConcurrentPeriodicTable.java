@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Thread-safe front for a PeriodicTable using copy-on-write snapshots.
+//
+// Readers get the current snapshot with a single volatile read and never
+// block. Writers are serialized: each change copies the element list, builds
+// a new PeriodicTable (with all its indexes) and publishes it atomically, so
+// a reader always sees either the whole change or none of it.
+//
+// Elements are copied on the way in, but the ones handed out are shared by
+// every reader - treat them as read-only and use updateElement to change data.
+public class ConcurrentPeriodicTable implements Iterable<Element> {
+    private final AtomicReference<PeriodicTable> current;
+    private final Object writeLock = new Object();
+
+    public ConcurrentPeriodicTable() {
+        this(new PeriodicTable().getAllElements());
+    }
+
+    public ConcurrentPeriodicTable(Element[] initialElements) {
+        List<Element> copies = new ArrayList<>(initialElements.length);
+        for (Element element : initialElements) {
+            copies.add(new Element(element));
+        }
+        this.current = new AtomicReference<>(publishable(copies));
+    }
+
+    // The current snapshot; it never changes, so several reads against it are consistent
+    public PeriodicTable snapshot() {
+        return current.get();
+    }
+
+    public Element findBySymbol(String symbol) {
+        return current.get().findBySymbol(symbol);
+    }
+
+    public Element findByAtomicNumber(int atomicNumber) {
+        return current.get().findByAtomicNumber(atomicNumber);
+    }
+
+    public Element[] searchBySymbol(String symbol) {
+        return current.get().searchBySymbol(symbol);
+    }
+
+    public Element[] searchByName(String name) {
+        return current.get().searchByName(name);
+    }
+
+    public Element[] searchByAtomicNumber(int atomicNumber) {
+        return current.get().searchByAtomicNumber(atomicNumber);
+    }
+
+    public Element[] searchByCategory(String category) {
+        return current.get().searchByCategory(category);
+    }
+
+    public List<Element> queryByName(String name) {
+        return current.get().queryByName(name);
+    }
+
+    public List<Element> queryByCategory(String category) {
+        return current.get().queryByCategory(category);
+    }
+
+    public List<Element> elements() {
+        return current.get().elements();
+    }
+
+    // Runs against the snapshot current at the time of the call
+    public ElementQuery query() {
+        return current.get().query();
+    }
+
+    public int getSize() {
+        return current.get().getSize();
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        return current.get().iterator();
+    }
+
+    // Returns false if the table is full
+    public boolean addElement(Element element) {
+        synchronized (writeLock) {
+            PeriodicTable table = current.get();
+            List<Element> next = new ArrayList<>(table.getSize() + 1);
+            for (Element existing : table.getAllElements()) {
+                next.add(existing);
+            }
+            next.add(new Element(element));
+            PeriodicTable updated = publishable(next);
+            if (updated.getSize() != next.size()) {
+                return false;
+            }
+            current.set(updated);
+            return true;
+        }
+    }
+
+    // Replaces the element with the same atomic number; false if there is none
+    public boolean updateElement(Element replacement) {
+        synchronized (writeLock) {
+            PeriodicTable table = current.get();
+            Element[] existing = table.getAllElements();
+            List<Element> next = new ArrayList<>(existing.length);
+            boolean replaced = false;
+            for (Element element : existing) {
+                if (!replaced && element.getAtomicNumber() == replacement.getAtomicNumber()) {
+                    next.add(new Element(replacement));
+                    replaced = true;
+                } else {
+                    next.add(element);
+                }
+            }
+            if (replaced) {
+                current.set(publishable(next));
+            }
+            return replaced;
+        }
+    }
+
+    // Builds a table and fills its lazy caches up front, so readers of the
+    // published snapshot only ever read it
+    private static PeriodicTable publishable(List<Element> elements) {
+        PeriodicTable table = new PeriodicTable(elements);
+        table.prepareForSharing();
+        return table;
+    }
+}
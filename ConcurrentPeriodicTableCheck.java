@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Stress check for ConcurrentPeriodicTable: readers race a writer adding
+// elements and a writer updating them, and every snapshot a reader sees must
+// be internally consistent and never older than the one it saw before.
+//   java ConcurrentPeriodicTableCheck
+//
+// The table starts half full, since addElement has nothing to do on a full one.
+public class ConcurrentPeriodicTableCheck {
+    private static final int INITIAL_ELEMENTS = 60;
+    private static final int READERS = 6;
+    private static final int UPDATE_ROUNDS = 40;
+
+    public static void main(String[] args) throws Exception {
+        Checks checks = new Checks("ConcurrentPeriodicTableCheck");
+        List<Element> all = new PeriodicTable().elements();
+        ConcurrentPeriodicTable table = new ConcurrentPeriodicTable(
+                all.subList(0, INITIAL_ELEMENTS).toArray(new Element[0]));
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 2);
+        try {
+            List<Future<String>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> read(table, writing)));
+            }
+            Future<?> adder = pool.submit(() -> {
+                for (int i = INITIAL_ELEMENTS; i < all.size(); i++) {
+                    if (!table.addElement(all.get(i))) {
+                        throw new IllegalStateException("addElement refused " + all.get(i).getSymbol());
+                    }
+                }
+                return null;
+            });
+            Future<?> updater = pool.submit(() -> {
+                for (int round = 1; round <= UPDATE_ROUNDS; round++) {
+                    for (int z = 1; z <= INITIAL_ELEMENTS; z++) {
+                        Element revised = new Element(all.get(z - 1));
+                        revised.setDescription("rev-" + round);
+                        revised.setAtomicWeight(revisedWeight(all.get(z - 1), round));
+                        if (!table.updateElement(revised)) {
+                            throw new IllegalStateException("updateElement found no Z=" + z);
+                        }
+                    }
+                }
+                return null;
+            });
+            adder.get(120, TimeUnit.SECONDS);
+            updater.get(120, TimeUnit.SECONDS);
+            writing.set(false);
+
+            Set<String> problems = new HashSet<>();
+            for (Future<String> reader : readers) {
+                String problem = reader.get(120, TimeUnit.SECONDS);
+                if (problem != null) {
+                    problems.add(problem);
+                }
+            }
+            checks.that(problems.isEmpty(), "every snapshot was consistent: " + problems);
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+
+        PeriodicTable last = table.snapshot();
+        checks.equal(all.size(), last.getSize(), "all additions landed");
+        checks.equal("rev-" + UPDATE_ROUNDS, last.findByAtomicNumber(1).getDescription(), "last update landed");
+        checks.that(!table.addElement(all.get(0)), "addElement refuses once the table is full");
+        checks.finish();
+    }
+
+    // Weight and description are changed together, so a torn update shows up
+    private static double revisedWeight(Element original, int round) {
+        return original.getAtomicWeight() + round * 1e-6;
+    }
+
+    private static int revisionOf(Element element) {
+        String description = element.getDescription();
+        return description.startsWith("rev-") ? Integer.parseInt(description.substring(4)) : 0;
+    }
+
+    // Returns a description of the first inconsistency seen, or null
+    private static String read(ConcurrentPeriodicTable table, AtomicBoolean writing) {
+        PeriodicTable original = new PeriodicTable();
+        int lastSize = 0;
+        int[] lastRevision = new int[INITIAL_ELEMENTS + 1];
+        int snapshots = 0;
+        PeriodicTable previous = null;
+        do {
+            PeriodicTable snapshot = table.snapshot();
+            if (snapshot == previous) {
+                continue;
+            }
+            previous = snapshot;
+            snapshots++;
+            List<Element> elements = snapshot.elements();
+            Element[] before = elements.toArray(new Element[0]);
+            int size = snapshot.getSize();
+            if (size < lastSize) {
+                return "size went back from " + lastSize + " to " + size;
+            }
+            lastSize = size;
+            if (elements.size() != size) {
+                return "elements() has " + elements.size() + " rows, getSize() says " + size;
+            }
+            IdentityHashMap<Element, Boolean> members = new IdentityHashMap<>();
+            for (int i = 0; i < size; i++) {
+                Element element = elements.get(i);
+                members.put(element, Boolean.TRUE);
+                int z = element.getAtomicNumber();
+                if (z != i + 1) {
+                    return "row " + i + " holds Z=" + z;
+                }
+                if (snapshot.findByAtomicNumber(z) != element || snapshot.findBySymbol(element.getSymbol()) != element) {
+                    return "indexes disagree with elements() for Z=" + z;
+                }
+                if (z <= INITIAL_ELEMENTS) {
+                    int revision = revisionOf(element);
+                    double expected = revision == 0 ? original.findByAtomicNumber(z).getAtomicWeight()
+                            : revisedWeight(original.findByAtomicNumber(z), revision);
+                    if (element.getAtomicWeight() != expected) {
+                        return "torn update of Z=" + z + " at rev " + revision;
+                    }
+                    if (revision < lastRevision[z]) {
+                        return "Z=" + z + " went back from rev " + lastRevision[z] + " to " + revision;
+                    }
+                    lastRevision[z] = revision;
+                }
+            }
+            for (Element found : snapshot.searchByName("ium")) {
+                if (!members.containsKey(found)) {
+                    return "searchByName returned an element from another snapshot";
+                }
+            }
+            for (Element found : snapshot.query().nameContains("ium").parallel().toList()) {
+                if (!members.containsKey(found)) {
+                    return "query returned an element from another snapshot";
+                }
+            }
+            if (!Arrays.equals(before, snapshot.elements().toArray(new Element[0]))) {
+                return "a published snapshot changed";
+            }
+        } while (writing.get());
+        return snapshots > 1 ? null : "reader only ever saw one snapshot";
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Formatter;
+
+// Collects console output in a reusable buffer and writes it to System.out
+// in one go on flush(), instead of one locked, flushed write per println.
+// Method names mirror PrintStream so display code reads the same.
+public class ConsoleBuffer {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final StringBuilder text = new StringBuilder(4096);
+    private final Formatter formatter = new Formatter(text);
+    private final CharsetEncoder encoder;
+    private ByteBuffer bytes = ByteBuffer.allocate(8192);
+
+    public ConsoleBuffer() {
+        this.encoder = consoleCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // The charset System.out encodes with
+    private static Charset consoleCharset() {
+        String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    public ConsoleBuffer print(String value) {
+        text.append(value);
+        return this;
+    }
+
+    public ConsoleBuffer print(CharSequence value) {
+        text.append(value);
+        return this;
+    }
+
+    public ConsoleBuffer print(int value) {
+        text.append(value);
+        return this;
+    }
+
+    public ConsoleBuffer print(double value) {
+        text.append(value);
+        return this;
+    }
+
+    public ConsoleBuffer println(String value) {
+        text.append(value).append(LINE_SEPARATOR);
+        return this;
+    }
+
+    public ConsoleBuffer println() {
+        text.append(LINE_SEPARATOR);
+        return this;
+    }
+
+    public ConsoleBuffer printf(String format, Object... args) {
+        formatter.format(format, args);
+        return this;
+    }
+
+    // Encodes everything buffered and hands it to System.out as one write
+    public void flush() {
+        if (text.length() == 0) {
+            return;
+        }
+        encode();
+        PrintStream out = System.out;
+        out.write(bytes.array(), 0, bytes.position());
+        out.flush();
+    }
+
+    // Encodes and returns everything buffered instead of writing it
+    public byte[] toBytes() {
+        encode();
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    // Writes pre-encoded output (see toBytes) after anything already buffered
+    public void write(byte[] encoded) {
+        flush();
+        PrintStream out = System.out;
+        out.write(encoded, 0, encoded.length);
+        out.flush();
+    }
+
+    private void encode() {
+        int needed = (int) (text.length() * encoder.maxBytesPerChar()) + 16;
+        if (bytes.capacity() < needed) {
+            bytes = ByteBuffer.allocate(Math.max(needed, bytes.capacity() * 2));
+        }
+        bytes.clear();
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.encode(chars, bytes, true);
+        encoder.flush(bytes);
+        text.setLength(0);
+    }
+}
@@ -1,6 +1,7 @@
 import java.util.Scanner;
 
 public class DetailedDisplay extends ElementDisplay {
+    private static final Metrics.Operation DISPLAY = Metrics.operation("DetailedDisplay.display");
     private Scanner scanner;
 
     public DetailedDisplay(PeriodicTable periodicTable, Scanner scanner) {
@@ -10,60 +11,88 @@ public class DetailedDisplay extends ElementDisplay {
 
     @Override
     public void display() {
+        long start = Metrics.start();
         showHeader("ELEMENT DETAILS");
         
-        System.out.print("Enter element symbol or atomic number: ");
-        String input = scanner.nextLine().trim();
+        console.print("Enter element symbol, name or atomic number: ");
+        String input = readLine(scanner).trim();
         
         Element element = null;
+        Element[] suggestions = new Element[0];
         
         // Try to find by symbol first
         Element[] bySymbol = periodicTable.searchBySymbol(input);
         if (bySymbol != null && bySymbol.length > 0) {
             element = bySymbol[0];
         } else {
-            // Try to find by atomic number
-            try {
-                int atomicNumber = Integer.parseInt(input);
+            int atomicNumber = parseNumber(input);
+            if (atomicNumber >= 0) {
+                // Try to find by atomic number
                 Element[] byNumber = periodicTable.searchByAtomicNumber(atomicNumber);
                 if (byNumber != null && byNumber.length > 0) {
                     element = byNumber[0];
                 }
-            } catch (NumberFormatException e) {
-                // Not a number, continue
+            } else if (!input.isEmpty()) {
+                // Then by name, allowing for typos; only a clear winner is shown
+                suggestions = fuzzyMatcher().suggest(input, 4);
+                element = fuzzyMatcher().bestMatch(input);
+                if (element != null && !element.getName().equalsIgnoreCase(input)) {
+                    console.println("\nNo exact match for \"" + input + "\", showing " + element.getName() + ".");
+                }
             }
         }
         
         if (element != null) {
             displayFullDetails(element);
+            if (suggestions.length > 1 && !element.getName().equalsIgnoreCase(input)) {
+                console.print("Other close matches:");
+                printNames(suggestions, element);
+            }
+        } else if (suggestions.length > 0) {
+            console.print("\nElement not found! Did you mean:");
+            printNames(suggestions, null);
         } else {
-            System.out.println("\nElement not found!");
+            console.println("\nElement not found!");
         }
+        console.flush();
+        DISPLAY.record(start, element != null);
     }
     
     private void displayFullDetails(Element element) {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("  " + element.getName() + " (" + element.getSymbol() + ")");
-        System.out.println("=".repeat(60));
+        console.println().println(RULE);
+        console.print("  ").print(element.getName()).print(" (").print(element.getSymbol()).println(")");
+        console.println(RULE);
         
-        System.out.println("Atomic Number: " + element.getAtomicNumber());
-        System.out.println("Atomic Weight: " + element.getAtomicWeight() + " u");
-        System.out.println("Group: " + element.getGroup());
-        System.out.println("Period: " + element.getPeriod());
-        System.out.println("Category: " + element.getCategory());
+        console.println("Atomic Number: " + element.getAtomicNumber());
+        console.println("Atomic Weight: " + element.getAtomicWeight() + " u");
+        console.println("Group: " + element.getGroup());
+        console.println("Period: " + element.getPeriod());
+        console.println("Category: " + element.getCategory());
         
-        System.out.println("\nDescription:");
-        System.out.println("  " + element.getDescription());
+        console.println("\nDescription:");
+        console.println("  " + element.getDescription());
         
         String[] uses = element.getUses();
         if (uses != null && uses.length > 0) {
-            System.out.println("\nCommon Uses:");
+            console.println("\nCommon Uses:");
             for (String use : uses) {
-                System.out.println("  • " + use);
+                console.println("  • " + use);
             }
         }
         
-        System.out.println("=".repeat(60));
+        console.println(RULE);
+    }
+
+    // Comma-separated names on the current line, leaving out shown
+    private void printNames(Element[] elements, Element shown) {
+        String separator = " ";
+        for (Element element : elements) {
+            if (element != shown) {
+                console.print(separator).print(element.getName());
+                separator = ", ";
+            }
+        }
+        console.println();
     }
 }
 
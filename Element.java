@@ -24,6 +24,13 @@ public class Element {
         this.description = description;
     }
 
+    // Copy constructor - the uses array is copied too
+    public Element(Element other) {
+        this(other.symbol, other.name, other.atomicNumber, other.atomicWeight, other.group,
+             other.period, other.category, other.uses != null ? other.uses.clone() : null,
+             other.description);
+    }
+
     // Getters - Encapsulation
     public String getSymbol() {
         return symbol;
@@ -49,6 +56,31 @@ public class Element {
         return period;
     }
 
+    // Numeric group (1-18), or 0 when the element has none (e.g. "-" for f-block)
+    public int getGroupNumber() {
+        return parseSmallNumber(group);
+    }
+
+    // Numeric period (1-7), or 0 when unknown
+    public int getPeriodNumber() {
+        return parseSmallNumber(period);
+    }
+
+    private static int parseSmallNumber(String value) {
+        if (value == null || value.isEmpty() || value.length() > 3) {
+            return 0;
+        }
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
     public String getCategory() {
         return category;
     }
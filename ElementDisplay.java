@@ -1,5 +1,14 @@
+import java.util.Scanner;
+
 public abstract class ElementDisplay {
+    protected static final String RULE = "=".repeat(60);
+    protected static final String SEPARATOR = "-".repeat(60);
+
     protected PeriodicTable periodicTable;
+    // Output is buffered here; subclasses flush before reading input and when done
+    protected final ConsoleBuffer console = new ConsoleBuffer();
+    private FuzzyMatcher fuzzyMatcher;
+    private int fuzzyMatcherVersion;
 
     public ElementDisplay(PeriodicTable periodicTable) {
         this.periodicTable = periodicTable;
@@ -10,13 +19,49 @@ public abstract class ElementDisplay {
     
     // Template method - common functionality
     public void showHeader(String title) {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("  " + title);
-        System.out.println("=".repeat(60));
+        console.println().println(RULE);
+        console.print("  ").println(title);
+        console.println(RULE);
     }
 
     public void showSeparator() {
-        System.out.println("-".repeat(60));
+        console.println(SEPARATOR);
+    }
+
+    // Input helpers - flush pending output first so prompts appear before reading
+    protected String readLine(Scanner scanner) {
+        console.flush();
+        return scanner.nextLine();
+    }
+
+    protected int readInt(Scanner scanner) {
+        console.flush();
+        return scanner.nextInt();
+    }
+
+    // Built on first use and rebuilt when the table changes
+    protected FuzzyMatcher fuzzyMatcher() {
+        if (fuzzyMatcher == null || fuzzyMatcherVersion != periodicTable.getVersion()) {
+            fuzzyMatcher = new FuzzyMatcher(periodicTable);
+            fuzzyMatcherVersion = periodicTable.getVersion();
+        }
+        return fuzzyMatcher;
+    }
+
+    // Value of text if it is all digits (at most 9), otherwise -1
+    protected static int parseNumber(String text) {
+        if (text.isEmpty() || text.length() > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 }
 
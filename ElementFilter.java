@@ -0,0 +1,68 @@
+import java.util.function.Consumer;
+
+// Faceted query over a PeriodicTable, e.g.
+//   table.filter().category("Transition Metal").period(5).toArray()
+// Each step ANDs a precomputed bitset into the mask.
+public class ElementFilter {
+    private final PeriodicTable periodicTable;
+    private final FacetIndex facets;
+    private final long[] mask;
+
+    ElementFilter(PeriodicTable periodicTable, FacetIndex facets) {
+        this.periodicTable = periodicTable;
+        this.facets = facets;
+        this.mask = facets.all();
+    }
+
+    // Exact category name, ignoring case
+    public ElementFilter category(String category) {
+        facets.andCategory(mask, Categories.idOf(category));
+        return this;
+    }
+
+    // Period 1-7; anything else matches nothing
+    public ElementFilter period(int period) {
+        facets.andPeriod(mask, period);
+        return this;
+    }
+
+    // Group 1-18; anything else matches nothing
+    public ElementFilter group(int group) {
+        facets.andGroupRange(mask, group, group);
+        return this;
+    }
+
+    // Inclusive range of groups, 1-18; never includes elements with no group
+    public ElementFilter groupRange(int fromGroup, int toGroup) {
+        facets.andGroupRange(mask, fromGroup, toGroup);
+        return this;
+    }
+
+    // Elements with no group, i.e. the lanthanides and actinides
+    public ElementFilter noGroup() {
+        facets.andNoGroup(mask);
+        return this;
+    }
+
+    public int count() {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public void forEach(Consumer<? super Element> action) {
+        for (int w = 0; w < mask.length; w++) {
+            long word = mask[w];
+            while (word != 0) {
+                action.accept(periodicTable.elementAt((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    public Element[] toArray() {
+        return periodicTable.elementsIn(mask);
+    }
+}
@@ -0,0 +1,38 @@
+// Behaviour checks for ElementFilter and FacetIndex: facet queries match a
+// plain loop, elements with no group are only found by noGroup(), and
+// category matching doesn't depend on the default locale.
+//   java ElementFilterCheck
+public class ElementFilterCheck {
+    public static void main(String[] args) {
+        // In Turkish, "I".toLowerCase() is a dotless i; set before any category is interned
+        java.util.Locale.setDefault(java.util.Locale.forLanguageTag("tr-TR"));
+        Checks checks = new Checks("ElementFilterCheck");
+        PeriodicTable table = new PeriodicTable();
+        int ungrouped = 0;
+        int alkaliAndAlkaline = 0;
+        int periodFive = 0;
+        for (Element element : table) {
+            int group = element.getGroupNumber();
+            ungrouped += group == 0 ? 1 : 0;
+            alkaliAndAlkaline += group >= 1 && group <= 2 ? 1 : 0;
+            periodFive += element.getPeriodNumber() == 5 ? 1 : 0;
+        }
+        checks.that(ungrouped > 0, "the table has elements with no group");
+        checks.equal(0, table.filter().group(0).count(), "group(0) matches nothing");
+        checks.equal(0, table.filter().period(0).count(), "period(0) matches nothing");
+        checks.equal(0, table.filter().group(-1).count(), "negative group matches nothing");
+        checks.equal(0, table.filter().group(19).count(), "group past 18 matches nothing");
+        checks.equal(alkaliAndAlkaline, table.filter().groupRange(0, 2).count(), "groupRange(0, 2) leaves out ungrouped elements");
+        checks.equal(alkaliAndAlkaline, table.filter().groupRange(1, 2).count(), "groupRange(1, 2)");
+        checks.equal(table.getSize() - ungrouped, table.filter().groupRange(1, 18).count(), "every grouped element is in 1-18");
+        checks.equal(ungrouped, table.filter().noGroup().count(), "noGroup finds the ungrouped elements");
+        checks.equal(table.findBySymbol("Ce"), table.filter().noGroup().period(6).toArray()[1], "noGroup combines with period");
+        checks.equal(periodFive, table.filter().period(5).count(), "period(5)");
+
+        Element inert = new Element("Qq", "Quietium", 1, 1.0, "18", "1", "Inert Gas", new String[0], "");
+        PeriodicTable custom = new PeriodicTable(java.util.List.of(inert));
+        checks.equal(1, custom.searchByCategory("inert").length, "a category with a capital I matches under a Turkish locale");
+        checks.equal(1, custom.filter().category("INERT GAS").count(), "exact category ignoring case");
+        checks.finish();
+    }
+}
@@ -0,0 +1,274 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Embedded HTTP lookup service backed by a PeriodicTable.
+//
+//   GET  /elements                     all elements
+//   GET  /elements/{symbol|z}          one element, e.g. /elements/Fe or /elements/26
+//   GET  /search?name=..&category=..   partial matches; both given means both must match
+//   POST /elements/bulk                body of symbols/numbers separated by whitespace or
+//                                      commas; answers a JSON array in the same order,
+//                                      with null for unknown keys; bodies over
+//                                      MAX_BULK_BYTES or MAX_BULK_KEYS get 413
+//
+// Each element's JSON is encoded once and kept as bytes, so a single lookup
+// writes a cached array. Requests run one per virtual thread when the JDK
+// has them (21+), otherwise on a cached thread pool.
+public class ElementHttpServer {
+    private static final byte[] NOT_FOUND = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] METHOD_NOT_ALLOWED =
+            "{\"error\":\"method not allowed\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOO_LARGE = "{\"error\":\"request too large\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+    static final int MAX_BULK_BYTES = 64 * 1024;
+    static final int MAX_BULK_KEYS = 1024;
+
+    // Pre-encoded responses for one table version
+    private static final class JsonCache {
+        final int version;
+        final byte[][] byAtomicNumber;
+        final byte[] all;
+
+        JsonCache(PeriodicTable periodicTable) {
+            this.version = periodicTable.getVersion();
+            int maxAtomicNumber = 0;
+            for (Element element : periodicTable) {
+                maxAtomicNumber = Math.max(maxAtomicNumber, element.getAtomicNumber());
+            }
+            this.byAtomicNumber = new byte[maxAtomicNumber + 1][];
+            ByteArrayOutputStream allJson = new ByteArrayOutputStream(64 * 1024);
+            allJson.write('[');
+            boolean first = true;
+            for (Element element : periodicTable) {
+                byte[] json = ElementJson.toJson(element).getBytes(StandardCharsets.UTF_8);
+                if (element.getAtomicNumber() > 0 && byAtomicNumber[element.getAtomicNumber()] == null) {
+                    byAtomicNumber[element.getAtomicNumber()] = json;
+                }
+                if (!first) {
+                    allJson.write(',');
+                }
+                allJson.writeBytes(json);
+                first = false;
+            }
+            allJson.write(']');
+            this.all = allJson.toByteArray();
+        }
+
+        byte[] get(Element element) {
+            int atomicNumber = element.getAtomicNumber();
+            if (atomicNumber > 0 && atomicNumber < byAtomicNumber.length) {
+                return byAtomicNumber[atomicNumber];
+            }
+            return ElementJson.toJson(element).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final PeriodicTable periodicTable;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile JsonCache cache;
+
+    // port 0 picks a free port; see getPort()
+    public ElementHttpServer(PeriodicTable periodicTable, int port) throws IOException {
+        this.periodicTable = periodicTable;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/elements", this::handleElements);
+        server.createContext("/search", this::handleSearch);
+    }
+
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private JsonCache cache() {
+        JsonCache current = cache;
+        if (current == null || current.version != periodicTable.getVersion()) {
+            current = new JsonCache(periodicTable);
+            cache = current;
+        }
+        return current;
+    }
+
+    private void handleElements(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            // The context also receives paths that merely start with "/elements"
+            if (!path.equals("/elements") && !path.startsWith("/elements/")) {
+                send(exchange, 404, NOT_FOUND);
+                return;
+            }
+            if (path.equals("/elements/bulk")) {
+                if (!method.equals("POST")) {
+                    send(exchange, 405, METHOD_NOT_ALLOWED);
+                    return;
+                }
+                handleBulk(exchange);
+                return;
+            }
+            if (!method.equals("GET")) {
+                send(exchange, 405, METHOD_NOT_ALLOWED);
+                return;
+            }
+            if (path.equals("/elements") || path.equals("/elements/")) {
+                send(exchange, 200, cache().all);
+                return;
+            }
+            Element element = lookup(path.substring("/elements/".length()));
+            if (element == null) {
+                send(exchange, 404, NOT_FOUND);
+            } else {
+                send(exchange, 200, cache().get(element));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleBulk(HttpExchange exchange) throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            // Never more than one byte past the limit, whatever Content-Length says
+            bytes = in.readNBytes(MAX_BULK_BYTES + 1);
+        }
+        if (bytes.length > MAX_BULK_BYTES) {
+            send(exchange, 413, TOO_LARGE);
+            return;
+        }
+        String[] keys = new String(bytes, StandardCharsets.UTF_8).trim().split("[\\s,]+");
+        if (keys.length > MAX_BULK_KEYS) {
+            send(exchange, 413, TOO_LARGE);
+            return;
+        }
+        JsonCache json = cache();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        out.write('[');
+        boolean first = true;
+        for (String key : keys) {
+            if (key.isEmpty()) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            Element element = lookup(key);
+            out.writeBytes(element != null ? json.get(element) : NULL);
+            first = false;
+        }
+        out.write(']');
+        send(exchange, 200, out.toByteArray());
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, METHOD_NOT_ALLOWED);
+                return;
+            }
+            String name = null;
+            String category = null;
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    int equals = parameter.indexOf('=');
+                    if (equals < 0) {
+                        continue;
+                    }
+                    String key = parameter.substring(0, equals);
+                    String value = URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+                    if (key.equals("name")) {
+                        name = value;
+                    } else if (key.equals("category")) {
+                        category = value;
+                    }
+                }
+            }
+
+            Element[] results;
+            java.util.Set<Element> inCategory = null;
+            if (name != null) {
+                results = periodicTable.searchByName(name);
+                if (category != null) {
+                    inCategory = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+                    java.util.Collections.addAll(inCategory, periodicTable.searchByCategory(category));
+                }
+            } else if (category != null) {
+                results = periodicTable.searchByCategory(category);
+            } else {
+                results = periodicTable.getAllElements();
+            }
+
+            JsonCache json = cache();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            out.write('[');
+            boolean first = true;
+            for (Element element : results) {
+                if (inCategory != null && !inCategory.contains(element)) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                out.writeBytes(json.get(element));
+                first = false;
+            }
+            out.write(']');
+            send(exchange, 200, out.toByteArray());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Atomic number if key is all digits, otherwise a symbol
+    private Element lookup(String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+        int atomicNumber = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9' || i >= 9) {
+                return periodicTable.findBySymbol(key);
+            }
+            atomicNumber = atomicNumber * 10 + (c - '0');
+        }
+        return periodicTable.findByAtomicNumber(atomicNumber);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// Behaviour checks for ElementHttpServer routing and request limits, against
+// a server on a free local port.
+//   java ElementHttpServerCheck
+public class ElementHttpServerCheck {
+    public static void main(String[] args) throws Exception {
+        Checks checks = new Checks("ElementHttpServerCheck");
+        ElementHttpServer server = new ElementHttpServer(new PeriodicTable(), 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+
+            HttpResponse<String> iron = get(client, base + "/elements/Fe");
+            checks.equal(200, iron.statusCode(), "GET /elements/Fe");
+            checks.that(iron.body().contains("Iron"), "GET /elements/Fe returns iron");
+            checks.equal(200, get(client, base + "/elements/26").statusCode(), "GET /elements/26");
+            checks.equal(200, get(client, base + "/elements").statusCode(), "GET /elements");
+            checks.equal(404, get(client, base + "/elementsXFe").statusCode(), "GET /elementsXFe is not an element path");
+            checks.equal(404, get(client, base + "/elementsbulk").statusCode(), "GET /elementsbulk is not an element path");
+            checks.equal(404, get(client, base + "/elements/Xx").statusCode(), "unknown symbol");
+            checks.equal(405, post(client, base + "/elements/Fe", "").statusCode(), "POST to an element");
+
+            HttpResponse<String> bulk = post(client, base + "/elements/bulk", "Fe, 8 Xx");
+            checks.equal(200, bulk.statusCode(), "bulk lookup");
+            checks.that(bulk.body().startsWith("[{") && bulk.body().endsWith(",null]"), "bulk answers in order with null for unknown keys");
+            checks.equal("[]", post(client, base + "/elements/bulk", " ").body(), "empty bulk body");
+
+            StringBuilder manyKeys = new StringBuilder();
+            for (int i = 0; i <= ElementHttpServer.MAX_BULK_KEYS; i++) {
+                manyKeys.append("H ");
+            }
+            checks.equal(413, post(client, base + "/elements/bulk", manyKeys.toString()).statusCode(), "too many keys");
+            checks.equal(413, post(client, base + "/elements/bulk", " ".repeat(ElementHttpServer.MAX_BULK_BYTES + 1)).statusCode(),
+                    "body over the size limit");
+            checks.equal(200, post(client, base + "/elements/bulk", "H ".repeat(ElementHttpServer.MAX_BULK_KEYS)).statusCode(),
+                    "exactly the key limit");
+        } finally {
+            server.stop();
+        }
+        checks.finish();
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String uri) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String uri, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,74 @@
+// Minimal JSON encoding for elements, shared by batch output and the HTTP service.
+public final class ElementJson {
+    private ElementJson() {
+    }
+
+    public static String toJson(Element element) {
+        StringBuilder out = new StringBuilder(256);
+        appendElement(out, element);
+        return out.toString();
+    }
+
+    public static void appendElement(StringBuilder out, Element element) {
+        out.append("{\"atomicNumber\":").append(element.getAtomicNumber());
+        out.append(",\"symbol\":");
+        appendString(out, element.getSymbol());
+        out.append(",\"name\":");
+        appendString(out, element.getName());
+        out.append(",\"atomicWeight\":").append(element.getAtomicWeight());
+        out.append(",\"group\":");
+        appendString(out, element.getGroup());
+        out.append(",\"period\":");
+        appendString(out, element.getPeriod());
+        out.append(",\"category\":");
+        appendString(out, element.getCategory());
+        out.append(",\"uses\":[");
+        String[] uses = element.getUses();
+        if (uses != null) {
+            for (int i = 0; i < uses.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendString(out, uses[i]);
+            }
+        }
+        out.append("],\"description\":");
+        appendString(out, element.getDescription());
+        out.append('}');
+    }
+
+    public static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,170 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Loads element data from elements.csv, the source of truth for the table.
+// A binary snapshot (elements.bin) is written next to the CSV after the first
+// parse and used on later startups for as long as the CSV is unchanged. All of
+// its records are decoded up front; see ElementSnapshot.
+//
+// CSV columns are found by header name, so extra columns are ignored and
+// the order may change. Multiple uses are separated by ';'.
+public final class ElementLoader {
+    public static final String DATA_FILE_PROPERTY = "periodictable.data";
+    public static final String DEFAULT_DATA_FILE = "elements.csv";
+
+    private ElementLoader() {
+    }
+
+    // -Dperiodictable.data=... or elements.csv in the working directory
+    public static Path defaultDataFile() {
+        return Paths.get(System.getProperty(DATA_FILE_PROPERTY, DEFAULT_DATA_FILE));
+    }
+
+    public static Path snapshotFileFor(Path csvFile) {
+        String fileName = csvFile.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return csvFile.resolveSibling(baseName + ".bin");
+    }
+
+    // Snapshot if it is up to date, otherwise the CSV (refreshing the snapshot)
+    public static List<Element> load(Path csvFile) {
+        Path snapshotFile = snapshotFileFor(csvFile);
+        try {
+            boolean haveCsv = Files.exists(csvFile);
+            if (Files.exists(snapshotFile)) {
+                try {
+                    ElementSnapshot snapshot = ElementSnapshot.open(snapshotFile);
+                    if (!haveCsv || snapshot.isSnapshotOf(csvFile)) {
+                        return snapshot.readAll();
+                    }
+                } catch (IllegalStateException e) {
+                    // Corrupt or old-format snapshot - rebuild it from the CSV
+                }
+            }
+            if (!haveCsv) {
+                throw new IllegalStateException("Element data file not found: " + csvFile.toAbsolutePath());
+            }
+            List<Element> elements = loadCsv(csvFile);
+            try {
+                ElementSnapshot.write(elements, csvFile, snapshotFile);
+            } catch (IOException e) {
+                // The snapshot is only a startup cache; a read-only directory is fine
+            }
+            return elements;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load element data from " + csvFile, e);
+        }
+    }
+
+    public static List<Element> loadCsv(Path csvFile) throws IOException {
+        List<Element> elements = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return elements;
+            }
+            List<String> header = parseCsvLine(headerLine);
+            int symbol = column(header, "symbol", csvFile);
+            int name = column(header, "name", csvFile);
+            int atomicNumber = column(header, "atomic_number", csvFile);
+            int atomicWeight = column(header, "atomic_weight", csvFile);
+            int group = column(header, "group", csvFile);
+            int period = column(header, "period", csvFile);
+            int category = column(header, "category", csvFile);
+            int uses = header.indexOf("uses");
+            int description = header.indexOf("description");
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() < header.size()) {
+                    throw new IllegalStateException(csvFile + ":" + lineNumber + ": expected "
+                            + header.size() + " columns but found " + fields.size());
+                }
+                try {
+                    elements.add(new Element(
+                            fields.get(symbol),
+                            fields.get(name),
+                            Integer.parseInt(fields.get(atomicNumber)),
+                            Double.parseDouble(fields.get(atomicWeight)),
+                            fields.get(group),
+                            fields.get(period),
+                            fields.get(category),
+                            uses >= 0 ? splitUses(fields.get(uses)) : new String[0],
+                            description >= 0 ? fields.get(description) : ""));
+                } catch (NumberFormatException e) {
+                    throw new IllegalStateException(csvFile + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static int column(List<String> header, String name, Path csvFile) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalStateException(csvFile + ": missing column '" + name + "'");
+        }
+        return index;
+    }
+
+    private static String[] splitUses(String uses) {
+        if (uses.isEmpty()) {
+            return new String[0];
+        }
+        return uses.split(";");
+    }
+
+    // Comma separated, fields may be quoted with "" as an escaped quote
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Rebuilds the snapshot: java ElementLoader [elements.csv]
+    public static void main(String[] args) throws IOException {
+        Path csvFile = args.length > 0 ? Paths.get(args[0]) : defaultDataFile();
+        List<Element> elements = loadCsv(csvFile);
+        Path snapshotFile = snapshotFileFor(csvFile);
+        ElementSnapshot.write(elements, csvFile, snapshotFile);
+        System.out.println("Wrote " + elements.size() + " elements to " + snapshotFile);
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Composable query over elements, e.g.
+//   table.query().nameContains("ium").weightAbove(200).toList()
+// Each step ANDs a condition into one predicate, so every row is tested for
+// all of them in a single pass. parallel() runs the pass on a ForkJoinPool
+// (see BulkSearch); small sources such as the element table itself still
+// run on the calling thread.
+//
+// Unlike filter(), which works off the table's precomputed facet bitsets,
+// this scans rows, so it works over any collection of elements (compounds,
+// user-defined materials, ...) via over(...).
+public class ElementQuery {
+    private final Supplier<Spliterator<Element>> source;
+    private Predicate<Element> condition = element -> true;
+    private ForkJoinPool pool;
+
+    ElementQuery(Supplier<Spliterator<Element>> source) {
+        this.source = source;
+    }
+
+    public static ElementQuery over(Collection<Element> elements) {
+        return new ElementQuery(elements::spliterator);
+    }
+
+    // Partial, case-insensitive match
+    public ElementQuery nameContains(String text) {
+        String lower = lowerCase(text);
+        return where(element -> containsIgnoreCase(element.getName(), lower));
+    }
+
+    // Exact symbol, ignoring case
+    public ElementQuery symbol(String symbol) {
+        return where(element -> element.getSymbol().equalsIgnoreCase(symbol));
+    }
+
+    // Partial, case-insensitive match on the category name
+    public ElementQuery categoryContains(String text) {
+        String lower = lowerCase(text);
+        return where(element -> containsIgnoreCase(element.getCategory(), lower));
+    }
+
+    public ElementQuery period(int period) {
+        return where(element -> element.getPeriodNumber() == period);
+    }
+
+    public ElementQuery group(int group) {
+        return where(element -> element.getGroupNumber() == group);
+    }
+
+    // Inclusive range
+    public ElementQuery atomicNumberBetween(int min, int max) {
+        return where(element -> element.getAtomicNumber() >= min && element.getAtomicNumber() <= max);
+    }
+
+    // Strictly heavier than weight
+    public ElementQuery weightAbove(double weight) {
+        return where(element -> element.getAtomicWeight() > weight);
+    }
+
+    // Strictly lighter than weight
+    public ElementQuery weightBelow(double weight) {
+        return where(element -> element.getAtomicWeight() < weight);
+    }
+
+    // Inclusive range, as in PeriodicTable.searchByWeightRange
+    public ElementQuery weightBetween(double min, double max) {
+        return where(element -> element.getAtomicWeight() >= min && element.getAtomicWeight() <= max);
+    }
+
+    // Any other condition; use Predicate.or/negate to build alternatives
+    public ElementQuery where(Predicate<? super Element> predicate) {
+        condition = condition.and(predicate);
+        return this;
+    }
+
+    // Runs on the common ForkJoinPool
+    public ElementQuery parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    public ElementQuery parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public ElementQuery sequential() {
+        this.pool = null;
+        return this;
+    }
+
+    // The combined condition, e.g. to reuse with another query's where()
+    public Predicate<Element> predicate() {
+        return condition;
+    }
+
+    // Matches in source order
+    public List<Element> toList() {
+        return BulkSearch.filter(source.get(), condition, pool);
+    }
+
+    public Element[] toArray() {
+        return toList().toArray(new Element[0]);
+    }
+
+    public long count() {
+        return BulkSearch.count(source.get(), condition, pool);
+    }
+
+    // Char by char, as NameIndex compares, so results agree with searchByName
+    private static String lowerCase(String text) {
+        char[] lower = text.toCharArray();
+        for (int i = 0; i < lower.length; i++) {
+            lower[i] = Character.toLowerCase(lower[i]);
+        }
+        return new String(lower);
+    }
+
+    // lowerPart is already lowercased, so the row's text is lowered as it is
+    // compared and nothing is allocated per row
+    private static boolean containsIgnoreCase(String text, String lowerPart) {
+        int length = lowerPart.length();
+        int last = text.length() - length;
+        for (int start = 0; start <= last; start++) {
+            int j = 0;
+            while (j < length && Character.toLowerCase(text.charAt(start + j)) == lowerPart.charAt(j)) {
+                j++;
+            }
+            if (j == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
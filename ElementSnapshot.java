@@ -0,0 +1,175 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compiled binary form of elements.csv, read through a memory-mapped file.
+//
+// Layout (big-endian):
+//   int magic, int formatVersion, long csvSize, long csvModifiedMillis,
+//   int count, int[count] record offsets, then the records:
+//   int atomicNumber, double atomicWeight, symbol, name, group, period,
+//   category, short useCount, uses..., description
+// Strings are an unsigned short byte length followed by UTF-8 bytes.
+//
+// Opening a snapshot costs one map call and read(i) decodes a single record,
+// but ElementLoader still decodes every record at startup (readAll), since the
+// table indexes every element as it is added. What the snapshot saves is the
+// CSV parse, not the decoding.
+public class ElementSnapshot {
+    private static final int MAGIC = 0x50544231; // "PTB1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+    private final ByteBuffer buffer;
+    private final long csvSize;
+    private final long csvModifiedMillis;
+    private final int count;
+
+    private ElementSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("Not an element snapshot");
+            }
+            this.csvSize = buffer.getLong(8);
+            this.csvModifiedMillis = buffer.getLong(16);
+            this.count = buffer.getInt(24);
+            if (count < 0 || HEADER_SIZE + (long) count * 4 > buffer.limit()) {
+                throw new IllegalStateException("Truncated element snapshot");
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Truncated element snapshot", e);
+        }
+    }
+
+    public static ElementSnapshot open(Path snapshotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ElementSnapshot(buffer);
+        }
+    }
+
+    // True if this snapshot was compiled from csvFile as it is now
+    public boolean isSnapshotOf(Path csvFile) throws IOException {
+        return Files.size(csvFile) == csvSize
+                && Files.getLastModifiedTime(csvFile).toMillis() == csvModifiedMillis;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Element read(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        ByteBuffer record = buffer.duplicate();
+        try {
+            record.position(buffer.getInt(HEADER_SIZE + index * 4));
+            int atomicNumber = record.getInt();
+            double atomicWeight = record.getDouble();
+            String symbol = readString(record);
+            String name = readString(record);
+            String group = readString(record);
+            String period = readString(record);
+            String category = readString(record);
+            String[] uses = new String[record.getShort() & 0xFFFF];
+            for (int i = 0; i < uses.length; i++) {
+                uses[i] = readString(record);
+            }
+            String description = readString(record);
+            return new Element(symbol, name, atomicNumber, atomicWeight, group, period,
+                    category, uses, description);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IllegalStateException("Corrupt element snapshot record " + index, e);
+        }
+    }
+
+    public List<Element> readAll() {
+        List<Element> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(read(i));
+        }
+        return elements;
+    }
+
+    public static void write(List<Element> elements, Path csvFile, Path snapshotFile) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int[] offsets = new int[elements.size()];
+        int recordsStart = HEADER_SIZE + offsets.length * 4;
+        for (int i = 0; i < offsets.length; i++) {
+            Element element = elements.get(i);
+            offsets[i] = recordsStart + out.size();
+            out.writeInt(element.getAtomicNumber());
+            out.writeDouble(element.getAtomicWeight());
+            writeString(out, element.getSymbol());
+            writeString(out, element.getName());
+            writeString(out, element.getGroup());
+            writeString(out, element.getPeriod());
+            writeString(out, element.getCategory());
+            String[] uses = element.getUses() != null ? element.getUses() : new String[0];
+            out.writeShort(uses.length);
+            for (String use : uses) {
+                writeString(out, use);
+            }
+            writeString(out, element.getDescription());
+        }
+        out.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(recordsStart);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putLong(Files.size(csvFile));
+        header.putLong(Files.getLastModifiedTime(csvFile).toMillis());
+        header.putInt(offsets.length);
+        for (int offset : offsets) {
+            header.putInt(offset);
+        }
+        header.flip();
+
+        // Write to a temp file and move it in place so readers never see half a snapshot
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer body = ByteBuffer.wrap(records.toByteArray());
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+        }
+        try {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
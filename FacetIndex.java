@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+// Membership bitsets per category, group and period. Bit i is the element in slot i.
+// Elements with no known group or period (e.g. the f-block has no group) are
+// kept in their own set at index 0, which group and period queries never
+// include; andNoGroup asks for them explicitly.
+public class FacetIndex {
+    public static final int MAX_GROUP = 18;
+    public static final int MAX_PERIOD = 7;
+
+    private final int words;
+    private long[][] categoryBits;
+    private final long[][] groupBits;
+    private final long[][] periodBits;
+    private final long[] allBits;
+
+    public FacetIndex(int capacity) {
+        this.words = (capacity + 63) >>> 6;
+        this.categoryBits = new long[0][];
+        this.groupBits = new long[MAX_GROUP + 1][words];
+        this.periodBits = new long[MAX_PERIOD + 1][words];
+        this.allBits = new long[words];
+    }
+
+    // group and period use 0 for "none"/unknown
+    public void add(int slot, int categoryId, int group, int period) {
+        if (categoryId >= categoryBits.length) {
+            int oldLength = categoryBits.length;
+            categoryBits = Arrays.copyOf(categoryBits, categoryId + 1);
+            for (int i = oldLength; i < categoryBits.length; i++) {
+                categoryBits[i] = new long[words];
+            }
+        }
+        set(categoryBits[categoryId], slot);
+        set(groupBits[clamp(group, MAX_GROUP)], slot);
+        set(periodBits[clamp(period, MAX_PERIOD)], slot);
+        set(allBits, slot);
+    }
+
+    public int words() {
+        return words;
+    }
+
+    // A fresh mask with every present element set
+    public long[] all() {
+        return allBits.clone();
+    }
+
+    public void andCategory(long[] mask, int categoryId) {
+        if (categoryId < 0 || categoryId >= categoryBits.length) {
+            Arrays.fill(mask, 0L);
+        } else {
+            and(mask, categoryBits[categoryId]);
+        }
+    }
+
+    public void andPeriod(long[] mask, int period) {
+        if (period < 1 || period > MAX_PERIOD) {
+            Arrays.fill(mask, 0L);
+        } else {
+            and(mask, periodBits[period]);
+        }
+    }
+
+    public void andGroupRange(long[] mask, int fromGroup, int toGroup) {
+        int from = Math.max(fromGroup, 1);
+        int to = Math.min(toGroup, MAX_GROUP);
+        for (int w = 0; w < words; w++) {
+            long any = 0L;
+            for (int g = from; g <= to; g++) {
+                any |= groupBits[g][w];
+            }
+            mask[w] &= any;
+        }
+    }
+
+    public void andNoGroup(long[] mask) {
+        and(mask, groupBits[0]);
+    }
+
+    // ORs together every category whose name contains query, ignoring case
+    public void orCategoriesContaining(long[] mask, String query) {
+        for (int id = 0; id < categoryBits.length; id++) {
+            if (NameIndex.containsIgnoreCase(Categories.lowerName(id), query)) {
+                long[] bits = categoryBits[id];
+                for (int w = 0; w < words; w++) {
+                    mask[w] |= bits[w];
+                }
+            }
+        }
+    }
+
+    private static void and(long[] mask, long[] bits) {
+        for (int w = 0; w < mask.length; w++) {
+            mask[w] &= bits[w];
+        }
+    }
+
+    private static void set(long[] bits, int slot) {
+        bits[slot >>> 6] |= 1L << slot;
+    }
+
+    private static int clamp(int value, int max) {
+        return value < 0 || value > max ? 0 : value;
+    }
+}
@@ -0,0 +1,273 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Parses chemical formulas and computes molar masses, e.g.
+//   "H2O", "Ca(OH)2", "K4[Fe(CN)6]", "CuSO4·5H2O", "SO4^2-", "NH4+"
+//
+// Hydrate parts are separated by '·', '•', '*' or '.' and may start with a
+// coefficient. A charge goes at the end: '+'/'-' alone means 1, and larger
+// charges need a caret ("Fe^3+") because "Fe3+" would read as three irons.
+//
+// Symbols are resolved through the PeriodicTable into a count vector indexed
+// by atomic number, which is then dotted with a weight-by-Z column. Parsing
+// works right to left with a fixed multiplier stack, so nothing is allocated
+// per formula. Instances hold scratch state and are not thread-safe.
+public class FormulaCalculator {
+    private static final int MAX_DEPTH = 32;
+    private static final int PARALLEL_CHUNK = 4096;
+    // Largest count, coefficient or charge written in a formula, and largest
+    // number of atoms a term may multiply out to
+    static final int MAX_COUNT = 1_000_000;
+
+    private final PeriodicTable periodicTable;
+    private double[] weights;
+    private int weightsVersion;
+    private int[] counts;
+    private final int[] multipliers = new int[MAX_DEPTH + 1];
+    // Atoms added before each open group, to spot empty ones like "H()"
+    private final int[] groupAtoms = new int[MAX_DEPTH + 1];
+    // Closing bracket of each open group, so "(" only matches ")" and "[" only "]"
+    private final char[] closers = new char[MAX_DEPTH + 1];
+
+    public FormulaCalculator(PeriodicTable periodicTable) {
+        this.periodicTable = periodicTable;
+        refreshWeights();
+    }
+
+    public double molarMass(CharSequence formula) {
+        if (weightsVersion != periodicTable.getVersion()) {
+            refreshWeights();
+        }
+        try {
+            parse(formula, counts);
+            double mass = 0.0;
+            for (int z = 0; z < counts.length; z++) {
+                mass += counts[z] * weights[z];
+            }
+            return mass;
+        } finally {
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    // Writes the molar mass of formulas[i] into out[i]
+    public void molarMasses(CharSequence[] formulas, double[] out) {
+        for (int i = 0; i < formulas.length; i++) {
+            out[i] = molarMass(formulas[i]);
+        }
+    }
+
+    public void molarMasses(List<? extends CharSequence> formulas, double[] out) {
+        for (int i = 0; i < formulas.size(); i++) {
+            out[i] = molarMass(formulas.get(i));
+        }
+    }
+
+    // Same as molarMasses, split into chunks across the common ForkJoinPool,
+    // each chunk with its own calculator
+    public static void molarMassesParallel(PeriodicTable periodicTable, CharSequence[] formulas,
+                                           double[] out) {
+        int chunks = (formulas.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            FormulaCalculator calculator = new FormulaCalculator(periodicTable);
+            int end = Math.min(formulas.length, (chunk + 1) * PARALLEL_CHUNK);
+            for (int i = chunk * PARALLEL_CHUNK; i < end; i++) {
+                out[i] = calculator.molarMass(formulas[i]);
+            }
+        });
+    }
+
+    // Length needed for a count vector passed to parse
+    public int countVectorLength() {
+        return counts.length;
+    }
+
+    // Adds the atom counts of formula into countsByZ (indexed by atomic number)
+    // and returns the formula's charge. Throws IllegalArgumentException for
+    // malformed formulas or unknown symbols.
+    public int parse(CharSequence formula, int[] countsByZ) {
+        int end = formula.length();
+        while (end > 0 && formula.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        // Charge suffix: "+", "-", "^+", "^2-"
+        int charge = 0;
+        if (end > 0 && (formula.charAt(end - 1) == '+' || formula.charAt(end - 1) == '-')) {
+            int sign = formula.charAt(end - 1) == '+' ? 1 : -1;
+            end--;
+            int magnitude = 1;
+            int digitsEnd = end;
+            int digitsStart = end;
+            while (digitsStart > 0 && isDigit(formula.charAt(digitsStart - 1))) {
+                digitsStart--;
+            }
+            if (digitsStart > 0 && formula.charAt(digitsStart - 1) == '^') {
+                if (digitsStart < digitsEnd) {
+                    magnitude = parseNumber(formula, digitsStart, digitsEnd);
+                }
+                end = digitsStart - 1;
+            }
+            charge = sign * magnitude;
+        }
+
+        // Hydrate parts, e.g. "CuSO4" and "5H2O"
+        int partStart = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || isPartSeparator(formula.charAt(i))) {
+                parsePart(formula, partStart, i, countsByZ);
+                partStart = i + 1;
+            }
+        }
+        return charge;
+    }
+
+    private void parsePart(CharSequence formula, int start, int end, int[] countsByZ) {
+        while (start < end && formula.charAt(start) == ' ') {
+            start++;
+        }
+        int coefficientEnd = start;
+        while (coefficientEnd < end && isDigit(formula.charAt(coefficientEnd))) {
+            coefficientEnd++;
+        }
+        int coefficient = coefficientEnd > start ? parseNumber(formula, start, coefficientEnd) : 1;
+        if (coefficientEnd == end) {
+            throw new IllegalArgumentException("Empty formula part at position " + start + " in " + formula);
+        }
+
+        int depth = 0;
+        multipliers[0] = coefficient;
+        int pending = 1;
+        boolean counted = false;
+        int atoms = 0;
+        int i = end - 1;
+        while (i >= coefficientEnd) {
+            char c = formula.charAt(i);
+            if (isDigit(c)) {
+                int digitsStart = i;
+                while (digitsStart > coefficientEnd && isDigit(formula.charAt(digitsStart - 1))) {
+                    digitsStart--;
+                }
+                if (counted) {
+                    throw new IllegalArgumentException("Count without element at position " + digitsStart
+                            + " in " + formula);
+                }
+                pending = parseNumber(formula, digitsStart, i + 1);
+                counted = true;
+                i = digitsStart - 1;
+                continue;
+            }
+            if (c == ')' || c == ']') {
+                if (depth == MAX_DEPTH) {
+                    throw new IllegalArgumentException("Formula nested too deeply: " + formula);
+                }
+                multipliers[depth + 1] = multiply(multipliers[depth], pending, i, formula);
+                depth++;
+                groupAtoms[depth] = atoms;
+                closers[depth] = c;
+                pending = 1;
+                counted = false;
+            } else if (c == '(' || c == '[') {
+                if (depth == 0 || counted) {
+                    throw new IllegalArgumentException("Unbalanced '" + c + "' at position " + i + " in " + formula);
+                }
+                if (closers[depth] != (c == '(' ? ')' : ']')) {
+                    throw new IllegalArgumentException("Mismatched '" + c + "' at position " + i + " in " + formula);
+                }
+                if (groupAtoms[depth] == atoms) {
+                    throw new IllegalArgumentException("Empty group at position " + i + " in " + formula);
+                }
+                depth--;
+            } else if (c >= 'a' && c <= 'z') {
+                if (i == coefficientEnd || !isUpper(formula.charAt(i - 1))) {
+                    throw new IllegalArgumentException("Unexpected '" + c + "' at position " + i + " in " + formula);
+                }
+                addAtoms(formula, i - 1, formula.charAt(i - 1), c,
+                        multiply(multipliers[depth], pending, i - 1, formula), countsByZ);
+                atoms++;
+                pending = 1;
+                counted = false;
+                i--;
+            } else if (isUpper(c)) {
+                addAtoms(formula, i, c, (char) 0, multiply(multipliers[depth], pending, i, formula), countsByZ);
+                atoms++;
+                pending = 1;
+                counted = false;
+            } else if (c != ' ') {
+                throw new IllegalArgumentException("Unexpected '" + c + "' at position " + i + " in " + formula);
+            }
+            i--;
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("Unbalanced brackets in " + formula);
+        }
+        if (counted) {
+            throw new IllegalArgumentException("Count without element in " + formula);
+        }
+    }
+
+    private static int multiply(int multiplier, int count, int position, CharSequence formula) {
+        long product = (long) multiplier * count;
+        if (product > MAX_COUNT) {
+            throw new IllegalArgumentException("More than " + MAX_COUNT + " atoms in one term at position "
+                    + position + " in " + formula);
+        }
+        return (int) product;
+    }
+
+    private void addAtoms(CharSequence formula, int position, char first, char second, int count,
+                          int[] countsByZ) {
+        Element element = periodicTable.findBySymbol(first, second);
+        if (element == null) {
+            String symbol = second == 0 ? String.valueOf(first) : "" + first + second;
+            throw new IllegalArgumentException("Unknown element '" + symbol + "' at position "
+                    + position + " in " + formula);
+        }
+        int z = element.getAtomicNumber();
+        if (countsByZ[z] > Integer.MAX_VALUE - count) {
+            throw new IllegalArgumentException("Too many atoms of " + element.getSymbol() + " in " + formula);
+        }
+        countsByZ[z] += count;
+    }
+
+    private void refreshWeights() {
+        int maxAtomicNumber = 0;
+        for (Element element : periodicTable) {
+            maxAtomicNumber = Math.max(maxAtomicNumber, element.getAtomicNumber());
+        }
+        double[] newWeights = new double[maxAtomicNumber + 1];
+        for (Element element : periodicTable) {
+            if (element.getAtomicNumber() > 0) {
+                newWeights[element.getAtomicNumber()] = element.getAtomicWeight();
+            }
+        }
+        weights = newWeights;
+        counts = new int[newWeights.length];
+        weightsVersion = periodicTable.getVersion();
+    }
+
+    private static int parseNumber(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > MAX_COUNT) {
+                throw new IllegalArgumentException("Number larger than " + MAX_COUNT + " at position "
+                        + start + " in " + text);
+            }
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isPartSeparator(char c) {
+        return c == '·' || c == '•' || c == '*' || c == '.';
+    }
+}
@@ -0,0 +1,58 @@
+// Behaviour checks for FormulaCalculator: molar masses of well-formed
+// formulas, and rejection of malformed ones.
+//   java FormulaCalculatorCheck
+public class FormulaCalculatorCheck {
+    public static void main(String[] args) {
+        Checks checks = new Checks("FormulaCalculatorCheck");
+        PeriodicTable table = new PeriodicTable();
+        FormulaCalculator calculator = new FormulaCalculator(table);
+        double h = table.findBySymbol("H").getAtomicWeight();
+        double o = table.findBySymbol("O").getAtomicWeight();
+        double s = table.findBySymbol("S").getAtomicWeight();
+        double cu = table.findBySymbol("Cu").getAtomicWeight();
+
+        checkMass(checks, calculator, 2 * h + o, "H2O");
+        checkMass(checks, calculator, 2 * h + o, "H2 O");
+        checkMass(checks, calculator, s + 4 * o, "SO4^2-");
+        checkMass(checks, calculator, cu + s + 4 * o + 5 * (2 * h + o), "CuSO4·5H2O");
+        checkMass(checks, calculator, table.findBySymbol("Ca").getAtomicWeight() + 2 * (o + h), "Ca(OH)2");
+        checkMass(checks, calculator, 4 * table.findBySymbol("K").getAtomicWeight()
+                + table.findBySymbol("Fe").getAtomicWeight()
+                + 6 * (table.findBySymbol("C").getAtomicWeight() + table.findBySymbol("N").getAtomicWeight()),
+                "K4[Fe(CN)6]");
+        checkMass(checks, calculator, FormulaCalculator.MAX_COUNT * h, "H" + FormulaCalculator.MAX_COUNT);
+        checks.equal(2, calculator.parse("Fe^2+", new int[calculator.countVectorLength()]), "charge with caret");
+
+        checkRejected(checks, calculator, "H99999999999");
+        checkRejected(checks, calculator, "H" + (FormulaCalculator.MAX_COUNT + 1));
+        checkRejected(checks, calculator, "99999999999H2O");
+        checkRejected(checks, calculator, "Fe^99999999999+");
+        checkRejected(checks, calculator, "(H1000)1001");
+        checkRejected(checks, calculator, "SO4 2");
+        checkRejected(checks, calculator, "H()");
+        checkRejected(checks, calculator, "H( )2");
+        checkRejected(checks, calculator, "K4[Fe()6]");
+        checkRejected(checks, calculator, "H(2)");
+        checkRejected(checks, calculator, "(OH");
+        checkRejected(checks, calculator, "Ca(OH]2");
+        checkRejected(checks, calculator, "K4[Fe(CN)6)");
+        checkRejected(checks, calculator, "Xx2");
+        checkMass(checks, calculator, 2 * h + o, "H2O");
+        checks.finish();
+    }
+
+    private static void checkMass(Checks checks, FormulaCalculator calculator, double expected, String formula) {
+        double actual = calculator.molarMass(formula);
+        checks.that(Math.abs(actual - expected) < 1e-6 * Math.max(1, expected),
+                formula + " weighs " + expected + ", got " + actual);
+    }
+
+    private static void checkRejected(Checks checks, FormulaCalculator calculator, String formula) {
+        try {
+            double mass = calculator.molarMass(formula);
+            checks.that(false, formula + " is rejected, got " + mass);
+        } catch (IllegalArgumentException expected) {
+            checks.that(true, formula + " is rejected");
+        }
+    }
+}
@@ -0,0 +1,239 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Typo-tolerant element lookup by name, e.g. "Flourine" -> Fluorine or
+// "Alluminum" -> Aluminium.
+//
+// Names are kept in a BK-tree keyed on Levenshtein distance, so a query only
+// measures itself against the branches that can be within the allowed
+// distance (1 for short queries, up to 3 for long ones). Names are also
+// grouped by a Soundex-style phonetic key, which catches misspellings that
+// sound right but are several edits away. Candidates from both are ranked by
+// edit distance, with a phonetic match worth one edit. Short queries are
+// also measured against every symbol, so "Fr" or "Sx" finds elements by a
+// mistyped symbol too.
+//
+// Built once from a table and never modified, so it can be shared.
+public class FuzzyMatcher {
+    private static final int MAX_DISTANCE = 3;
+
+    private final Element[] elements;
+    private final String[] names;
+    private final String[] symbols;
+    // BK-tree over names: node i is names[i], children[i][d] is the child at distance d
+    private final int[][] children;
+    private final Map<String, int[]> byPhoneticKey = new HashMap<>();
+    private int maxNameLength;
+    private int maxSymbolLength;
+
+    public FuzzyMatcher(PeriodicTable periodicTable) {
+        List<Element> all = periodicTable.elements();
+        this.elements = all.toArray(new Element[0]);
+        this.names = new String[elements.length];
+        this.symbols = new String[elements.length];
+        this.children = new int[elements.length][];
+        for (int i = 0; i < elements.length; i++) {
+            names[i] = elements[i].getName().toLowerCase(Locale.ROOT);
+            symbols[i] = elements[i].getSymbol().toLowerCase(Locale.ROOT);
+            maxNameLength = Math.max(maxNameLength, names[i].length());
+            maxSymbolLength = Math.max(maxSymbolLength, symbols[i].length());
+            if (i > 0) {
+                insert(i);
+            }
+            byPhoneticKey.merge(phoneticKey(names[i]), new int[]{i}, FuzzyMatcher::concat);
+        }
+    }
+
+    // Up to limit elements whose names or symbols are close to query, best first
+    public Element[] suggest(String query, int limit) {
+        if (limit < 1) {
+            return new Element[0];
+        }
+        int[] scores = new int[elements.length];
+        List<Integer> matches = rank(query, scores, new boolean[elements.length]);
+        Element[] result = new Element[Math.min(limit, matches.size())];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = elements[matches.get(i)];
+        }
+        return result;
+    }
+
+    // The element query clearly means, or null. That is an exact name or
+    // symbol, or else a name that scores strictly better than every other
+    // candidate; ties, and symbols that are merely close ("Xq"), are left to
+    // the caller to offer as suggestions.
+    public Element bestMatch(String query) {
+        int[] scores = new int[elements.length];
+        boolean[] bySymbol = new boolean[elements.length];
+        List<Integer> matches = rank(query, scores, bySymbol);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        int best = matches.get(0);
+        boolean exact = scores[best] <= 0;
+        boolean unique = matches.size() == 1 || scores[matches.get(1)] > scores[best];
+        return exact || (unique && !bySymbol[best]) ? elements[best] : null;
+    }
+
+    // Indexes of the elements close to query, best first. Fills in each one's
+    // score (2 * distance, minus 1 for a phonetic match) and whether it came
+    // from the symbol rather than the name.
+    private List<Integer> rank(String query, int[] scores, boolean[] bySymbol) {
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>();
+        if (term.isEmpty() || elements.length == 0) {
+            return matches;
+        }
+        int maxDistance = Math.min(MAX_DISTANCE, Math.max(1, term.length() / 4));
+
+        Arrays.fill(scores, Integer.MAX_VALUE);
+        int[] stack = new int[elements.length];
+        int[] rows = new int[2 * (Math.max(maxNameLength, maxSymbolLength) + 1)];
+        int depth = 0;
+        stack[depth++] = 0;
+        while (depth > 0) {
+            int node = stack[--depth];
+            int distance = distance(term, names[node], rows);
+            if (distance <= maxDistance) {
+                scores[node] = 2 * distance;
+            }
+            int[] next = children[node];
+            if (next != null) {
+                int from = Math.max(1, distance - maxDistance);
+                int to = Math.min(next.length - 1, distance + maxDistance);
+                for (int d = from; d <= to; d++) {
+                    if (next[d] >= 0) {
+                        stack[depth++] = next[d];
+                    }
+                }
+            }
+        }
+        int[] soundsLike = byPhoneticKey.get(phoneticKey(term));
+        if (soundsLike != null) {
+            for (int i : soundsLike) {
+                int distance = scores[i] != Integer.MAX_VALUE ? scores[i] / 2 : distance(term, names[i], rows);
+                // Sounding alike doesn't make "np" a match for "neptunium"
+                if (distance <= Math.max(maxDistance, term.length() / 2)) {
+                    scores[i] = 2 * distance - 1;
+                }
+            }
+        }
+        // Symbols are only a few letters, so only short queries can be close
+        if (term.length() <= maxSymbolLength + 1) {
+            for (int i = 0; i < symbols.length; i++) {
+                int distance = distance(term, symbols[i], rows);
+                if (distance <= maxDistance && 2 * distance < scores[i]) {
+                    scores[i] = 2 * distance;
+                    bySymbol[i] = true;
+                }
+            }
+        }
+
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] != Integer.MAX_VALUE) {
+                matches.add(i);
+            }
+        }
+        matches.sort((a, b) -> scores[a] != scores[b] ? Integer.compare(scores[a], scores[b])
+                : names[a].compareTo(names[b]));
+        return matches;
+    }
+
+    private void insert(int index) {
+        int node = 0;
+        while (true) {
+            int distance = distance(names[index], names[node], new int[2 * (names[node].length() + 1)]);
+            if (distance == 0) {
+                return; // duplicate name; the first element keeps it
+            }
+            int[] next = children[node];
+            if (next == null || next.length <= distance) {
+                int oldLength = next == null ? 0 : next.length;
+                next = next == null ? new int[distance + 1] : Arrays.copyOf(next, distance + 1);
+                Arrays.fill(next, oldLength, next.length, -1);
+                children[node] = next;
+            }
+            if (next[distance] < 0) {
+                next[distance] = index;
+                return;
+            }
+            node = next[distance];
+        }
+    }
+
+    // Levenshtein distance; rows is scratch space of at least 2 * (b.length() + 1),
+    // used as two rolling rows of the usual table
+    static int distance(String a, String b, int[] rows) {
+        int width = b.length() + 1;
+        int previous = 0;
+        int current = width;
+        for (int j = 0; j < width; j++) {
+            rows[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            rows[current] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j < width; j++) {
+                int substitution = rows[previous + j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                rows[current + j] = Math.min(substitution, Math.min(rows[previous + j], rows[current + j - 1]) + 1);
+            }
+            int swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return rows[previous + width - 1];
+    }
+
+    // Soundex-style key over the whole word: consonants map to sound classes,
+    // repeats collapse, vowels only separate. The first letter is coded too,
+    // so "sesium" and "cesium" share a key; a leading vowel becomes '0'.
+    static String phoneticKey(String word) {
+        StringBuilder key = new StringBuilder(word.length());
+        char last = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char code = soundClass(word.charAt(i));
+            if (code == '0') {
+                if (i == 0) {
+                    key.append('0');
+                }
+                last = 0;
+            } else if (code != ' ' && code != last) {
+                key.append(code);
+                last = code;
+            }
+        }
+        return key.toString();
+    }
+
+    // '0' for vowels, ' ' for letters that are skipped (h, w) and non-letters
+    private static char soundClass(char c) {
+        switch (Character.toLowerCase(c)) {
+            case 'a': case 'e': case 'i': case 'o': case 'u': case 'y':
+                return '0';
+            case 'b': case 'f': case 'p': case 'v':
+                return '1';
+            case 'c': case 'g': case 'j': case 'k': case 'q': case 's': case 'x': case 'z':
+                return '2';
+            case 'd': case 't':
+                return '3';
+            case 'l':
+                return '4';
+            case 'm': case 'n':
+                return '5';
+            case 'r':
+                return '6';
+            default:
+                return ' ';
+        }
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Scanner;
+
+// Behaviour checks for FuzzyMatcher: misspelled names, symbols, ties, and
+// independence from the default locale; and DetailedDisplay only showing a
+// clear winner.
+//   java FuzzyMatcherCheck
+public class FuzzyMatcherCheck {
+    public static void main(String[] args) {
+        Checks checks = new Checks("FuzzyMatcherCheck");
+        // In Turkish, "I".toLowerCase() is a dotless i, so "IRON" would miss "iron"
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        PeriodicTable table = new PeriodicTable();
+        FuzzyMatcher matcher = new FuzzyMatcher(table);
+        Element iron = table.findBySymbol("Fe");
+
+        checks.equal("Fluorine", nameOf(matcher.bestMatch("Flourine")), "misspelled name");
+        checks.equal("Iron", nameOf(matcher.bestMatch("IRON")), "upper-case name under a Turkish locale");
+        boolean caseBlind = true;
+        for (Element element : table) {
+            String name = element.getName();
+            caseBlind &= Arrays.equals(matcher.suggest(name.toLowerCase(Locale.ROOT), 4),
+                    matcher.suggest(name.toUpperCase(Locale.ROOT), 4));
+        }
+        checks.that(caseBlind, "upper-case names get the same suggestions under a Turkish locale");
+        checks.equal("Iron", nameOf(matcher.bestMatch("fe")), "symbol in any case");
+        checks.equal("Neptunium", nameOf(matcher.bestMatch("np")), "a symbol beats names that sound alike");
+        checks.that(Arrays.asList(matcher.suggest("Fq", 10)).contains(iron), "mistyped symbol suggests Fe");
+        checks.equal(0, matcher.suggest("   ", 4).length, "blank query");
+
+        // Ties and near-miss symbols are suggestions, not answers
+        checks.equal(null, matcher.bestMatch("Sulpher"), "no best match when names tie");
+        checks.that(Arrays.asList(matcher.suggest("Sulpher", 4)).contains(table.findBySymbol("S")), "but the tie is suggested");
+        checks.equal(null, matcher.bestMatch("Zz"), "no best match when symbols tie");
+        checks.equal(null, matcher.bestMatch("Xq"), "a symbol one letter off is only a suggestion");
+        checks.that(detailsFor(table, "Sulpher").contains("Did you mean: Silver, Sulfur"), "DetailedDisplay lists tied names");
+        checks.that(detailsFor(table, "Zz").contains("Did you mean: Zinc, Zirconium"), "DetailedDisplay lists tied symbols");
+        checks.that(detailsFor(table, "Xq").contains("Did you mean: Xenon"), "DetailedDisplay doesn't pick a near-miss symbol");
+        checks.that(detailsFor(table, "Flourine").contains("showing Fluorine"), "DetailedDisplay shows a clear winner");
+        checks.that(detailsFor(table, "qqqqqqqq").contains("Element not found!"), "DetailedDisplay with nothing close");
+        checks.equal(null, matcher.bestMatch("zzzzzzzzzzzz"), "nothing close");
+        checks.finish();
+    }
+
+    private static String detailsFor(PeriodicTable table, String input) {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            new DetailedDisplay(table, new Scanner(input + "\n")).display();
+        } finally {
+            System.setOut(stdout);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String nameOf(Element element) {
+        return element == null ? null : element.getName();
+    }
+}
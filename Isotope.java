@@ -0,0 +1,58 @@
+// One nuclide (Z, A). Values are copied out of an IsotopeTable on lookup.
+public final class Isotope {
+    private final PeriodicTable periodicTable;
+    private final int atomicNumber;
+    private final int massNumber;
+    private final double mass;
+    private final double abundance;
+    private final double halfLifeSeconds;
+
+    Isotope(PeriodicTable periodicTable, int atomicNumber, int massNumber, double mass,
+            double abundance, double halfLifeSeconds) {
+        this.periodicTable = periodicTable;
+        this.atomicNumber = atomicNumber;
+        this.massNumber = massNumber;
+        this.mass = mass;
+        this.abundance = abundance;
+        this.halfLifeSeconds = halfLifeSeconds;
+    }
+
+    public int getAtomicNumber() {
+        return atomicNumber;
+    }
+
+    public int getMassNumber() {
+        return massNumber;
+    }
+
+    // Atomic mass in u
+    public double getMass() {
+        return mass;
+    }
+
+    // Natural abundance in percent (0 for synthetic/trace nuclides)
+    public double getAbundance() {
+        return abundance;
+    }
+
+    // Infinity for stable nuclides
+    public double getHalfLifeSeconds() {
+        return halfLifeSeconds;
+    }
+
+    public boolean isStable() {
+        return halfLifeSeconds == Double.POSITIVE_INFINITY;
+    }
+
+    // The element this is an isotope of, or null if the table doesn't have it
+    public Element getElement() {
+        return periodicTable != null ? periodicTable.findByAtomicNumber(atomicNumber) : null;
+    }
+
+    @Override
+    public String toString() {
+        Element element = getElement();
+        String symbol = element != null ? element.getSymbol() : "Z" + atomicNumber;
+        return symbol + "-" + massNumber;
+    }
+}
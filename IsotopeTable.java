@@ -0,0 +1,254 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+// Isotope/nuclide data stored as primitive columns, one row per (Z, A).
+// Rows are streamed in line by line - no per-row objects are kept - and
+// found through an open-addressing map keyed on Z << 16 | A.
+//
+// isotopes.csv columns: atomic_number, mass_number, mass, abundance
+// (percent) and half_life_seconds (empty for stable nuclides).
+public class IsotopeTable {
+    public static final String DATA_FILE_PROPERTY = "periodictable.isotopes";
+    public static final String DEFAULT_DATA_FILE = "isotopes.csv";
+
+    private final PeriodicTable periodicTable;
+
+    private int size;
+    private int[] atomicNumbers;
+    private int[] massNumbers;
+    private double[] masses;
+    private double[] abundances;
+    private double[] halfLives;
+    // Rows of the same element are chained: firstByZ[z] -> nextSameZ[row] -> ...
+    private int[] firstByZ;
+    private int[] nextSameZ;
+
+    // key -> row; Z >= 1 so a real key is never 0, which marks an empty slot
+    private int[] keys;
+    private int[] rows;
+
+    public IsotopeTable(PeriodicTable periodicTable) {
+        this.periodicTable = periodicTable;
+        this.atomicNumbers = new int[64];
+        this.massNumbers = new int[64];
+        this.masses = new double[64];
+        this.abundances = new double[64];
+        this.halfLives = new double[64];
+        this.nextSameZ = new int[64];
+        this.firstByZ = new int[128];
+        Arrays.fill(firstByZ, -1);
+        this.keys = new int[128];
+        this.rows = new int[128];
+    }
+
+    public static IsotopeTable load(PeriodicTable periodicTable) {
+        return load(periodicTable, Paths.get(System.getProperty(DATA_FILE_PROPERTY, DEFAULT_DATA_FILE)));
+    }
+
+    public static IsotopeTable load(PeriodicTable periodicTable, Path csvFile) {
+        IsotopeTable table = new IsotopeTable(periodicTable);
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            table.loadCsv(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load isotope data from " + csvFile, e);
+        }
+        return table;
+    }
+
+    // Appends every row from reader; can be called repeatedly to load more data
+    public void loadCsv(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        List<String> header = ElementLoader.parseCsvLine(headerLine);
+        int atomicNumber = column(header, "atomic_number");
+        int massNumber = column(header, "mass_number");
+        int mass = column(header, "mass");
+        int abundance = header.indexOf("abundance");
+        int halfLife = header.indexOf("half_life_seconds");
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = ElementLoader.parseCsvLine(line);
+            try {
+                add(Integer.parseInt(fields.get(atomicNumber)),
+                        Integer.parseInt(fields.get(massNumber)),
+                        Double.parseDouble(fields.get(mass)),
+                        parseOptional(fields, abundance, 0.0),
+                        parseOptional(fields, halfLife, Double.POSITIVE_INFINITY));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalStateException("isotopes line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static int column(List<String> header, String name) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalStateException("Isotope data is missing column '" + name + "'");
+        }
+        return index;
+    }
+
+    private static double parseOptional(List<String> fields, int index, double missing) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return missing;
+        }
+        return Double.parseDouble(fields.get(index));
+    }
+
+    // Adds or replaces the (Z, A) row
+    public void add(int atomicNumber, int massNumber, double mass, double abundance,
+                    double halfLifeSeconds) {
+        if (atomicNumber < 1 || atomicNumber > 0x7FFF || massNumber < 1 || massNumber > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid nuclide Z=" + atomicNumber + " A=" + massNumber);
+        }
+        int key = key(atomicNumber, massNumber);
+        int row = find(key);
+        if (row < 0) {
+            row = size++;
+            ensureCapacity(size);
+            atomicNumbers[row] = atomicNumber;
+            massNumbers[row] = massNumber;
+            if (atomicNumber >= firstByZ.length) {
+                int oldLength = firstByZ.length;
+                firstByZ = Arrays.copyOf(firstByZ, Math.max(atomicNumber + 1, oldLength * 2));
+                Arrays.fill(firstByZ, oldLength, firstByZ.length, -1);
+            }
+            nextSameZ[row] = firstByZ[atomicNumber];
+            firstByZ[atomicNumber] = row;
+            insert(key, row);
+        }
+        masses[row] = mass;
+        abundances[row] = abundance;
+        halfLives[row] = halfLifeSeconds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Row of (Z, A), or -1
+    public int rowOf(int atomicNumber, int massNumber) {
+        return find(key(atomicNumber, massNumber));
+    }
+
+    public Isotope find(int atomicNumber, int massNumber) {
+        int row = rowOf(atomicNumber, massNumber);
+        return row >= 0 ? isotopeAt(row) : null;
+    }
+
+    public Isotope[] isotopesOf(int atomicNumber) {
+        if (atomicNumber < 0 || atomicNumber >= firstByZ.length) {
+            return new Isotope[0];
+        }
+        int count = 0;
+        for (int row = firstByZ[atomicNumber]; row >= 0; row = nextSameZ[row]) {
+            count++;
+        }
+        Isotope[] result = new Isotope[count];
+        // Chain is newest first; fill from the back to keep load order
+        int index = count;
+        for (int row = firstByZ[atomicNumber]; row >= 0; row = nextSameZ[row]) {
+            result[--index] = isotopeAt(row);
+        }
+        return result;
+    }
+
+    public Isotope isotopeAt(int row) {
+        return new Isotope(periodicTable, atomicNumbers[row], massNumbers[row], masses[row],
+                abundances[row], halfLives[row]);
+    }
+
+    // Primitive accessors for scans that shouldn't allocate
+    public int atomicNumber(int row) {
+        return atomicNumbers[row];
+    }
+
+    public int massNumber(int row) {
+        return massNumbers[row];
+    }
+
+    public double mass(int row) {
+        return masses[row];
+    }
+
+    public double abundance(int row) {
+        return abundances[row];
+    }
+
+    public double halfLifeSeconds(int row) {
+        return halfLives[row];
+    }
+
+    private static int key(int atomicNumber, int massNumber) {
+        return (atomicNumber << 16) | (massNumber & 0xFFFF);
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(int key, int row) {
+        if (size * 2 > keys.length) {
+            int[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new int[oldKeys.length * 2];
+            rows = new int[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    place(oldKeys[i], oldRows[i]);
+                }
+            }
+        }
+        place(key, row);
+    }
+
+    private void place(int key, int row) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        rows[slot] = row;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > atomicNumbers.length) {
+            int newLength = Math.max(capacity, atomicNumbers.length * 2);
+            atomicNumbers = Arrays.copyOf(atomicNumbers, newLength);
+            massNumbers = Arrays.copyOf(massNumbers, newLength);
+            masses = Arrays.copyOf(masses, newLength);
+            abundances = Arrays.copyOf(abundances, newLength);
+            halfLives = Arrays.copyOf(halfLives, newLength);
+            nextSameZ = Arrays.copyOf(nextSameZ, newLength);
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
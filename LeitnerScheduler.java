@@ -0,0 +1,86 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Spaced-repetition question picker for one user, using Leitner boxes.
+//
+// Every question code starts in box 0. A correct answer moves it up one box,
+// a wrong one sends it back to box 0, and each box up halves how likely the
+// question is to be drawn - so questions a user keeps missing come back often
+// and ones they know fade out without disappearing.
+//
+// A drawn question is held (weight 0) until it is released, which keeps a
+// quiz from asking the same question twice. Methods are synchronized since
+// one user may have more than one session open.
+public class LeitnerScheduler {
+    public static final int BOXES = 6;
+
+    private byte[] boxes;
+    private boolean[] held;
+    private final WeightedSampler sampler;
+
+    public LeitnerScheduler(int questionCount) {
+        this.boxes = new byte[questionCount];
+        this.held = new boolean[questionCount];
+        this.sampler = new WeightedSampler(questionCount);
+        for (int code = 0; code < questionCount; code++) {
+            sampler.set(code, weightOf(0));
+        }
+    }
+
+    public synchronized int size() {
+        return boxes.length;
+    }
+
+    // Adds question codes up to questionCount, e.g. when new question types appear
+    public synchronized void grow(int questionCount) {
+        int oldCount = boxes.length;
+        if (questionCount <= oldCount) {
+            return;
+        }
+        boxes = Arrays.copyOf(boxes, questionCount);
+        held = Arrays.copyOf(held, questionCount);
+        sampler.resize(questionCount);
+        for (int code = oldCount; code < questionCount; code++) {
+            sampler.set(code, weightOf(0));
+        }
+    }
+
+    // Draws and holds a question code, or returns -1 if every question is held
+    public synchronized int next(Random random) {
+        int code = sampler.sample(random);
+        if (code >= 0) {
+            held[code] = true;
+            sampler.set(code, 0);
+        }
+        return code;
+    }
+
+    public synchronized void record(int code, boolean correct) {
+        if (correct) {
+            if (boxes[code] < BOXES - 1) {
+                boxes[code]++;
+            }
+        } else {
+            boxes[code] = 0;
+        }
+        if (!held[code]) {
+            sampler.set(code, weightOf(boxes[code]));
+        }
+    }
+
+    // Makes a held question drawable again
+    public synchronized void release(int code) {
+        if (held[code]) {
+            held[code] = false;
+            sampler.set(code, weightOf(boxes[code]));
+        }
+    }
+
+    public synchronized int box(int code) {
+        return boxes[code];
+    }
+
+    private static int weightOf(int box) {
+        return 1 << (BOXES - 1 - box);
+    }
+}
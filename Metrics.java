@@ -0,0 +1,330 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Call counts, hit/miss counts and latency histograms for hot operations.
+//
+// Off unless the JVM is started with -Dperiodictable.metrics=true. The flag is
+// a static final, so when it is off the JIT folds every start()/record() call
+// site away and instrumented code runs as if it weren't.
+//
+// When on, counters are LongAdders (striped per thread, so callers don't
+// contend), every operation is also emitted as a JFR event (when a recording
+// has it enabled), and totals are published over JMX as
+// periodictable:type=Metrics.
+//
+// Usage at a call site:
+//   private static final Metrics.Operation SEARCH = Metrics.operation("Thing.search");
+//   long start = Metrics.start();
+//   ...
+//   SEARCH.record(start, found);
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "periodictable.metrics";
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    public static final String OBJECT_NAME = "periodictable:type=Metrics";
+
+    private static final ConcurrentHashMap<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                // Already registered (e.g. by another class loader); counting still works
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    // The operation with this name, created on first use; keep it in a static final
+    public static Operation operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, Operation::new);
+    }
+
+    // Start time to pass to Operation.record, or 0 when metrics are off
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    public static List<OperationStats> snapshot() {
+        List<OperationStats> stats = new ArrayList<>();
+        for (Operation operation : OPERATIONS.values()) {
+            stats.add(operation.stats());
+        }
+        stats.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return stats;
+    }
+
+    public static void reset() {
+        for (Operation operation : OPERATIONS.values()) {
+            operation.reset();
+        }
+    }
+
+    public static final class Operation {
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        // Only allocated when metrics are on
+        private final LatencyHistogram latency = ENABLED ? new LatencyHistogram() : null;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // hit is whatever success means for the operation (found, correct, ...)
+        public void record(long startNanos, boolean hit) {
+            if (!ENABLED) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            (hit ? hits : misses).increment();
+            latency.record(elapsed);
+            OperationEvent event = new OperationEvent();
+            if (event.shouldCommit()) {
+                event.operation = name;
+                event.hit = hit;
+                event.latency = elapsed;
+                event.commit();
+            }
+        }
+
+        OperationStats stats() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            if (latency == null) {
+                return new OperationStats(name, hitCount + missCount, hitCount, missCount, 0, 0, 0, 0, 0);
+            }
+            return new OperationStats(name, hitCount + missCount, hitCount, missCount,
+                    latency.mean(), latency.percentile(0.50), latency.percentile(0.99),
+                    latency.percentile(0.999), latency.max());
+        }
+
+        void reset() {
+            hits.reset();
+            misses.reset();
+            if (latency != null) {
+                latency.reset();
+            }
+        }
+    }
+
+    // HDR-style log-linear histogram: each power of two of nanoseconds is
+    // split into SUB_BUCKETS linear buckets, so any recorded value is off by
+    // at most 1/SUB_BUCKETS (12.5%) while covering every long in under 500 buckets.
+    static final class LatencyHistogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long value = Math.max(0L, nanos);
+            counts[bucketOf(value)].increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        // Largest value that falls in bucket
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            long lower = (1L << exponent) + (sub << (exponent - SUB_BITS));
+            return lower + (1L << (exponent - SUB_BITS)) - 1;
+        }
+
+        long percentile(double fraction) {
+            long[] snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts[i].sum();
+                count += snapshot[i];
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max());
+                }
+            }
+            return max();
+        }
+
+        double mean() {
+            long count = 0;
+            for (LongAdder bucket : counts) {
+                count += bucket.sum();
+            }
+            return count == 0 ? 0.0 : total.sum() / (double) count;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        void reset() {
+            for (LongAdder bucket : counts) {
+                bucket.reset();
+            }
+            total.reset();
+            max.reset();
+        }
+    }
+
+    // Read-only totals for one operation, as published over JMX
+    public static final class OperationStats {
+        private final String name;
+        private final long calls;
+        private final long hits;
+        private final long misses;
+        private final double meanNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        OperationStats(String name, long calls, long hits, long misses, double meanNanos,
+                       long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.name = name;
+            this.calls = calls;
+            this.hits = hits;
+            this.misses = misses;
+            this.meanNanos = meanNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRatio() {
+            return calls == 0 ? 0.0 : hits / (double) calls;
+        }
+
+        public double getMeanNanos() {
+            return meanNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getP999Nanos() {
+            return p999Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-32s %10d calls %6.1f%% hits  mean %9.0f ns  p50 %8d  p99 %8d  p99.9 %8d  max %9d",
+                    name, calls, getHitRatio() * 100, meanNanos, p50Nanos, p99Nanos, p999Nanos, maxNanos);
+        }
+    }
+
+    public interface MetricsMXBean {
+        boolean isEnabled();
+
+        List<OperationStats> getOperations();
+
+        void reset();
+    }
+
+    private static final class MBean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public List<OperationStats> getOperations() {
+            return snapshot();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+
+    @Name("periodictable.Operation")
+    @Label("Periodic Table Operation")
+    @Category("Periodic Table")
+    @Description("One instrumented operation, e.g. a search or a display")
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Hit")
+        boolean hit;
+
+        @Label("Latency")
+        @Timespan(Timespan.NANOSECONDS)
+        long latency;
+    }
+}
@@ -0,0 +1,114 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+// Behaviour checks for Metrics: histogram bucket bounds, percentiles, and
+// counting/JMX with metrics switched on.
+//   java MetricsCheck
+public class MetricsCheck {
+    public static void main(String[] args) throws Exception {
+        // Before Metrics is loaded, so its ENABLED flag picks this up
+        System.setProperty(Metrics.ENABLED_PROPERTY, "true");
+        Checks checks = new Checks("MetricsCheck");
+        bucketBounds(checks);
+        percentiles(checks);
+        counting(checks);
+        checks.finish();
+    }
+
+    private static long lowerBoundOf(int bucket) {
+        return bucket == 0 ? 0 : Metrics.LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+    }
+
+    private static void bucketBounds(Checks checks) {
+        int buckets = Metrics.LatencyHistogram.bucketOf(Long.MAX_VALUE) + 1;
+        checks.equal(Long.MAX_VALUE, Metrics.LatencyHistogram.upperBoundOf(buckets - 1), "last bucket ends at Long.MAX_VALUE");
+        checks.equal(0, Metrics.LatencyHistogram.bucketOf(0), "zero is in the first bucket");
+
+        // Buckets are contiguous, non-empty and at most 1/8 of their lower bound wide
+        boolean contiguous = true;
+        boolean narrow = true;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long lower = lowerBoundOf(bucket);
+            long upper = Metrics.LatencyHistogram.upperBoundOf(bucket);
+            contiguous &= upper >= lower
+                    && Metrics.LatencyHistogram.bucketOf(lower) == bucket
+                    && Metrics.LatencyHistogram.bucketOf(upper) == bucket;
+            narrow &= lower < 8 ? upper == lower : upper - lower + 1 <= lower / 8;
+        }
+        checks.that(contiguous, "every bucket's bounds map back to that bucket");
+        checks.that(narrow, "buckets are exact below 8 and within 12.5% above");
+
+        // Every value lands in a bucket whose bounds contain it (record() clamps
+        // negatives to 0 before bucketing, so only non-negative values are tried)
+        Random random = new Random(7);
+        boolean contained = true;
+        for (int i = 0; i < 100_000; i++) {
+            long value = i < 5_000 ? i : random.nextLong() >>> (1 + random.nextInt(63));
+            int bucket = Metrics.LatencyHistogram.bucketOf(value);
+            contained &= lowerBoundOf(bucket) <= value && value <= Metrics.LatencyHistogram.upperBoundOf(bucket);
+        }
+        checks.that(contained, "values fall within their bucket's bounds");
+    }
+
+    private static void percentiles(Checks checks) {
+        Metrics.LatencyHistogram histogram = new Metrics.LatencyHistogram();
+        checks.equal(0L, histogram.percentile(0.5), "empty histogram reports 0");
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        checks.equal(5000.5, histogram.mean(), "mean is exact");
+        checks.equal(10_000L, histogram.max(), "max is exact");
+        checks.equal(10_000L, histogram.percentile(1.0), "p100 is the max");
+        checkNear(checks, 5_000, histogram.percentile(0.50), "p50");
+        checkNear(checks, 9_900, histogram.percentile(0.99), "p99");
+        checkNear(checks, 9_990, histogram.percentile(0.999), "p99.9");
+        checks.that(histogram.percentile(0.50) >= 5_000, "percentiles report the bucket's upper bound");
+
+        histogram.reset();
+        checks.equal(0L, histogram.max(), "reset clears max");
+        checks.equal(0.0, histogram.mean(), "reset clears counts");
+        histogram.record(-5);
+        checks.equal(0L, histogram.percentile(1.0), "negative values are recorded as 0");
+    }
+
+    private static void checkNear(Checks checks, long expected, long actual, String what) {
+        checks.that(actual >= expected && actual <= expected + expected / 8,
+                what + " within 12.5% above " + expected + ", was " + actual);
+    }
+
+    private static void counting(Checks checks) throws Exception {
+        checks.that(Metrics.ENABLED, "metrics enabled by the system property");
+        PeriodicTable table = new PeriodicTable();
+        Metrics.reset();
+        table.findBySymbol("Fe");
+        table.findBySymbol("Xx");
+        table.findBySymbol("Og");
+        Metrics.OperationStats stats = null;
+        for (Metrics.OperationStats operation : Metrics.snapshot()) {
+            if (operation.getName().equals("PeriodicTable.findBySymbol")) {
+                stats = operation;
+            }
+        }
+        checks.that(stats != null, "findBySymbol is instrumented");
+        if (stats != null) {
+            checks.equal(3L, stats.getCalls(), "calls counted");
+            checks.equal(2L, stats.getHits(), "hits counted");
+            checks.equal(1L, stats.getMisses(), "misses counted");
+            checks.that(stats.getMaxNanos() > 0, "latency recorded");
+        }
+
+        Object[] published = (Object[]) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(Metrics.OBJECT_NAME), "Operations");
+        long jmxCalls = -1;
+        for (Object operation : published) {
+            CompositeData data = (CompositeData) operation;
+            if (data.get("name").equals("PeriodicTable.findBySymbol")) {
+                jmxCalls = (Long) data.get("calls");
+            }
+        }
+        checks.equal(3L, jmxCalls, "counts are published over JMX");
+    }
+}
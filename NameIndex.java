@@ -0,0 +1,190 @@
+import java.util.Arrays;
+
+// Trigram index over lowercased element names, used for partial-name search.
+// Ids are the slots elements were added in, so results keep insertion order.
+public class NameIndex {
+    private String[] lowerNames;
+    private int size;
+
+    // Open-addressing map: packed trigram -> posting list of ids (ascending)
+    private long[] keys;
+    private int[][] postings;
+    private int[] postingSizes;
+    private int trigramCount;
+
+    public NameIndex(int expectedSize) {
+        this.lowerNames = new String[Math.max(expectedSize, 8)];
+        this.size = 0;
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 8) * 2;
+        this.keys = new long[capacity];
+        this.postings = new int[capacity][];
+        this.postingSizes = new int[capacity];
+        Arrays.fill(keys, -1L);
+    }
+
+    // Adds a name and returns its id
+    public int add(String name) {
+        if (size == lowerNames.length) {
+            lowerNames = Arrays.copyOf(lowerNames, size * 2);
+        }
+        int id = size++;
+        // Lowercase char by char so stored names line up with how queries are compared
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        String lower = new String(chars);
+        lowerNames[id] = lower;
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            addPosting(trigram(lower.charAt(i), lower.charAt(i + 1), lower.charAt(i + 2)), id);
+        }
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Collects the ids of all names containing query (ignoring case) into out,
+    // which must have room for size() ids. Returns the number of matches.
+    public int search(String query, int[] out) {
+        int queryLength = query.length();
+        if (queryLength < 3) {
+            // Too short for a trigram - check every name
+            int count = 0;
+            for (int id = 0; id < size; id++) {
+                if (containsIgnoreCase(lowerNames[id], query)) {
+                    out[count++] = id;
+                }
+            }
+            return count;
+        }
+
+        // Start from the rarest trigram in the query, then intersect with the rest
+        int rarest = -1;
+        int rarestSize = Integer.MAX_VALUE;
+        for (int i = 0; i + 3 <= queryLength; i++) {
+            int slot = find(trigram(query, i));
+            if (slot < 0) {
+                return 0;
+            }
+            if (postingSizes[slot] < rarestSize) {
+                rarest = slot;
+                rarestSize = postingSizes[slot];
+            }
+        }
+
+        int[] candidates = postings[rarest];
+        int count = 0;
+        for (int c = 0; c < rarestSize; c++) {
+            int id = candidates[c];
+            if (inAllPostings(query, id) && containsIgnoreCase(lowerNames[id], query)) {
+                out[count++] = id;
+            }
+        }
+        return count;
+    }
+
+    private boolean inAllPostings(String query, int id) {
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int slot = find(trigram(query, i));
+            if (Arrays.binarySearch(postings[slot], 0, postingSizes[slot], id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True if lowerText contains query, comparing query characters lowercased.
+    // lowerText must already be lowercase.
+    public static boolean containsIgnoreCase(String lowerText, String query) {
+        int queryLength = query.length();
+        int last = lowerText.length() - queryLength;
+        for (int start = 0; start <= last; start++) {
+            int j = 0;
+            while (j < queryLength
+                    && lowerText.charAt(start + j) == Character.toLowerCase(query.charAt(j))) {
+                j++;
+            }
+            if (j == queryLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long trigram(String query, int i) {
+        return trigram(Character.toLowerCase(query.charAt(i)),
+                Character.toLowerCase(query.charAt(i + 1)),
+                Character.toLowerCase(query.charAt(i + 2)));
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != -1L) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addPosting(long key, int id) {
+        if ((trigramCount + 1) * 2 > keys.length) {
+            rehash();
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != -1L && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == -1L) {
+            keys[slot] = key;
+            postings[slot] = new int[4];
+            trigramCount++;
+        }
+        int count = postingSizes[slot];
+        // A name can repeat a trigram; ids arrive in order so only the tail needs checking
+        if (count > 0 && postings[slot][count - 1] == id) {
+            return;
+        }
+        if (count == postings[slot].length) {
+            postings[slot] = Arrays.copyOf(postings[slot], count * 2);
+        }
+        postings[slot][count] = id;
+        postingSizes[slot] = count + 1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldSizes = postingSizes;
+        keys = new long[oldKeys.length * 2];
+        postings = new int[keys.length][];
+        postingSizes = new int[keys.length];
+        Arrays.fill(keys, -1L);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1L) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != -1L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                postings[slot] = oldPostings[i];
+                postingSizes[slot] = oldSizes[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
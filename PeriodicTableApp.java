@@ -7,6 +7,7 @@ public class PeriodicTableApp {
     private ElementDisplay searchDisplay;
     private ElementDisplay detailedDisplay;
     private Quiz quiz;
+    private QuizResultsLog resultsLog;
 
     public PeriodicTableApp() {
         this.periodicTable = new PeriodicTable();
@@ -16,7 +17,13 @@ public class PeriodicTableApp {
         this.tableDisplay = new TableDisplay(periodicTable, scanner);
         this.searchDisplay = new SearchDisplay(periodicTable, scanner);
         this.detailedDisplay = new DetailedDisplay(periodicTable, scanner);
-        this.quiz = new Quiz(periodicTable, scanner);
+        try {
+            this.resultsLog = QuizResultsLog.open(QuizResultsLog.defaultFile());
+        } catch (java.io.IOException e) {
+            // Quiz results are only kept when the log can be written and no
+            // other running copy of the app has it open
+        }
+        this.quiz = new Quiz(periodicTable, scanner, resultsLog);
     }
 
     public void run() {
@@ -61,6 +68,13 @@ public class PeriodicTableApp {
         }
         
         scanner.close();
+        if (resultsLog != null) {
+            try {
+                resultsLog.close();
+            } catch (java.io.IOException e) {
+                System.out.println("Could not save quiz results: " + e.getMessage());
+            }
+        }
     }
 
     private void displayMenu() {
@@ -87,7 +101,34 @@ public class PeriodicTableApp {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            try {
+                BatchQueryRunner.run(new PeriodicTable(), args);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Usage: java PeriodicTableApp --batch [file] [--format=tsv|jsonl]");
+                System.exit(2);
+            } catch (java.io.IOException e) {
+                System.err.println("Batch failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int port = 8080;
+            if (args.length > 1) {
+                try {
+                    port = Integer.parseInt(args[1]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Usage: java PeriodicTableApp --serve [port]");
+                    System.exit(2);
+                }
+            }
+            ElementHttpServer server = new ElementHttpServer(new PeriodicTable(), port);
+            server.start();
+            System.out.println("Serving the periodic table on http://localhost:" + server.getPort() + "/elements");
+            return;
+        }
         PeriodicTableApp app = new PeriodicTableApp();
         app.run();
     }
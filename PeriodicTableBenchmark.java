@@ -0,0 +1,343 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+
+// Self-contained micro-benchmark suite for the table, search, display and quiz code.
+//
+//   java PeriodicTableBenchmark                      run everything
+//   java PeriodicTableBenchmark search               only benchmarks whose name contains "search"
+//   java PeriodicTableBenchmark --save base.tsv      also write results as a baseline
+//   java PeriodicTableBenchmark --baseline base.tsv  compare against a saved baseline
+//
+// Each benchmark is warmed up, then timed over MEASURE_ROUNDS rounds and
+// reported as the mean ns/op with the standard deviation across rounds.
+// Allocation is measured per operation with the per-thread allocation counter,
+// the same figure JMH's GC profiler reports as gc.alloc.rate.norm. Against a
+// baseline, a change smaller than twice the combined deviation is marked "~".
+//
+// Each operation gets its own index (0, 1, 2, ...) to vary its input, so no
+// state is shared between benchmarks.
+//
+// Not JMH: everything runs in one JVM (no forks), so JIT profile pollution
+// between benchmarks is possible, and there is no blackhole beyond folding
+// results into a sink. Use it to compare builds on one machine, not as
+// absolute numbers.
+public class PeriodicTableBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+    private static final long ROUND_NANOS = 200_000_000L;
+
+    private interface Operation {
+        // index counts the calls to this operation, starting at 0
+        long run(long index);
+    }
+
+    private static final class Result {
+        final String name;
+        final double nanosPerOp;
+        // Standard deviation of nanosPerOp across rounds
+        final double nanosError;
+        final double bytesPerOp;
+
+        Result(String name, double nanosPerOp, double nanosError, double bytesPerOp) {
+            this.name = name;
+            this.nanosPerOp = nanosPerOp;
+            this.nanosError = nanosError;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    // Results are folded in here so the JIT can't drop the work
+    private static long sink;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<Result> results = new ArrayList<>();
+    private final String filter;
+
+    private PeriodicTableBenchmark(String filter) {
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String filter = "";
+        Path savePath = null;
+        Path baselinePath = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--save") && i + 1 < args.length) {
+                savePath = Paths.get(args[++i]);
+            } else if (args[i].equals("--baseline") && i + 1 < args.length) {
+                baselinePath = Paths.get(args[++i]);
+            } else {
+                filter = args[i];
+            }
+        }
+
+        PeriodicTableBenchmark benchmark = new PeriodicTableBenchmark(filter);
+        benchmark.runAll();
+        Map<String, Result> baseline = baselinePath != null ? readResults(baselinePath) : null;
+        benchmark.report(baseline);
+        if (savePath != null) {
+            benchmark.writeResults(savePath);
+        }
+    }
+
+    private void runAll() {
+        PeriodicTable table = new PeriodicTable();
+        ColumnStore columns = table.getColumns();
+        int[] slots = new int[table.getSize()];
+        FormulaCalculator calculator = new FormulaCalculator(table);
+        String[] symbols = {"H", "fe", "Og", "Xx"};
+
+        // Lookups
+        measure("findBySymbol", i -> table.findBySymbol(symbols[(int) i & 3]) != null ? 1 : 0);
+        measure("findByAtomicNumber", i -> table.findByAtomicNumber((int) (i % 120)) != null ? 1 : 0);
+        measure("searchBySymbol", i -> table.searchBySymbol(symbols[(int) i & 3]).length);
+        measure("searchByAtomicNumber", i -> table.searchByAtomicNumber((int) (i % 120)).length);
+
+        // Searches
+        measure("searchByName [ium]", i -> table.searchByName("ium").length);
+        measure("searchByName [gen]", i -> table.searchByName("gen").length);
+        measure("searchByName [x]", i -> table.searchByName("x").length);
+        measure("searchByCategory [metal]", i -> table.searchByCategory("metal").length);
+        measure("searchByCategory [noble gas]", i -> table.searchByCategory("noble gas").length);
+        measure("queryByName [ium]", i -> table.queryByName("ium").size());
+        String[] distinctNames = {"ium", "gen", "on", "ine", "ur", "an", "ne", "er"};
+        measure("searchByName [cache miss]", i -> {
+            // Cleared every call, so this is the cost of the search itself
+            table.getNameQueryCache().clear();
+            return table.searchByName(distinctNames[(int) i & 7]).length;
+        });
+        measure("filter [transition metal, period 5]",
+                i -> table.filter().category("Transition Metal").period(5).count());
+        measure("query [name ium, weight > 200]",
+                i -> table.query().nameContains("ium").weightAbove(200).toList().size());
+
+        // Predicate queries over a large synthetic dataset (table rows repeated)
+        List<Element> rows = new ArrayList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            rows.add(table.elementAt(i % table.getSize()));
+        }
+        measure("ElementQuery [100k rows, sequential]",
+                i -> ElementQuery.over(rows).nameContains("ium").weightAbove(200).count());
+        measure("ElementQuery [100k rows, parallel]",
+                i -> ElementQuery.over(rows).nameContains("ium").weightAbove(200).parallel().count());
+
+        // Whole-table access
+        measure("getAllElements", i -> table.getAllElements().length);
+        measure("elements", i -> table.elements().size());
+
+        // Weight range, object vs columnar layout
+        table.setScanEngine(PeriodicTable.ScanEngine.OBJECT);
+        measure("searchByWeightRange [OBJECT]", i -> table.searchByWeightRange(50, 60).length);
+        table.setScanEngine(PeriodicTable.ScanEngine.COLUMNAR);
+        measure("searchByWeightRange [COLUMNAR]", i -> table.searchByWeightRange(50, 60).length);
+        measure("ColumnStore.weightRange", i -> columns.weightRange(50, 60, slots));
+        measure("ColumnStore.countWeightRange", i -> columns.countWeightRange(50, 60));
+
+        PrefixTrie.Cursor cursor = table.getAutocomplete().cursor();
+        measure("PrefixTrie.Cursor [type m, a, erase]", i -> {
+            cursor.reset();
+            cursor.type('m');
+            cursor.type('a');
+            int best = cursor.payload(0);
+            cursor.erase();
+            return best + cursor.count();
+        });
+        measure("searchByPrefix [ca]", i -> table.searchByPrefix("ca", 5).length);
+        FuzzyMatcher fuzzyMatcher = new FuzzyMatcher(table);
+        measure("FuzzyMatcher.suggest [Flourine]", i -> fuzzyMatcher.suggest("Flourine", 4).length);
+
+        // Sorted weight index
+        WeightIndex weightIndex = table.getWeightIndex();
+        double[] peaks = new double[1024];
+        for (int i = 0; i < peaks.length; i++) {
+            peaks[i] = 1 + i * 0.29;
+        }
+        int[] peakSlots = new int[peaks.length];
+        measure("WeightIndex.range [50, 60]", i -> weightIndex.range(50, 60, slots));
+        measure("WeightIndex.nearest", i -> weightIndex.nearest(peaks[(int) i & 1023]));
+        measure("WeightIndex.matchPeaks [1024 sorted]", i -> {
+            weightIndex.matchPeaks(peaks, 0.5, peakSlots);
+            return peakSlots[512];
+        });
+
+        // Formulas
+        measure("molarMass [CuSO4.5H2O]", i -> (long) calculator.molarMass("CuSO4.5H2O"));
+
+        // Quiz question generation and grading
+        QuizEngine quizEngine = new QuizEngine(table);
+        Random engineRandom = new Random(42);
+        measure("QuizEngine [question + check]", i -> {
+            int code = quizEngine.randomQuestionCode(engineRandom);
+            return quizEngine.checkAnswer(code, quizEngine.correctAnswer(code)) ? 1 : 0;
+        });
+
+        LeitnerScheduler scheduler = new LeitnerScheduler(quizEngine.getQuestionCount());
+        Random schedulerRandom = new Random(42);
+        measure("LeitnerScheduler [next + record + release]", i -> {
+            int code = scheduler.next(schedulerRandom);
+            scheduler.record(code, (code & 1) == 0);
+            scheduler.release(code);
+            return code;
+        });
+
+        // Console code, driven by scripted input with output discarded
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            TableDisplay tableDisplay = new TableDisplay(table, scriptedInput("Q\n"));
+            measure("TableDisplay.display [one page]", i -> {
+                tableDisplay.display();
+                return 1;
+            });
+            Quiz quiz = new Quiz(table, scriptedInput("1\nH\n"));
+            measure("Quiz.startQuiz [one question]", i -> {
+                quiz.startQuiz();
+                return 1;
+            });
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    private void measure(String name, Operation operation) {
+        if (!name.toLowerCase().contains(filter.toLowerCase())) {
+            return;
+        }
+        // Warm up and find how many operations fill a round
+        long index = 0;
+        long opsPerRound = 1;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            long ops = 0;
+            while (System.nanoTime() - start < ROUND_NANOS / 2) {
+                runOps(operation, index, 1000);
+                index += 1000;
+                ops += 1000;
+            }
+            opsPerRound = Math.max(ops * 2, 1000);
+        }
+
+        double[] nanos = new double[MEASURE_ROUNDS];
+        double totalBytes = 0;
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            runOps(operation, index, opsPerRound);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            index += opsPerRound;
+            nanos[round] = elapsed / (double) opsPerRound;
+            totalBytes += allocated / (double) opsPerRound;
+        }
+        double mean = 0;
+        for (double value : nanos) {
+            mean += value / MEASURE_ROUNDS;
+        }
+        double variance = 0;
+        for (double value : nanos) {
+            variance += (value - mean) * (value - mean) / (MEASURE_ROUNDS - 1);
+        }
+        results.add(new Result(name, mean, Math.sqrt(variance), totalBytes / MEASURE_ROUNDS));
+    }
+
+    private static void runOps(Operation operation, long firstIndex, long ops) {
+        long total = 0;
+        for (long i = 0; i < ops; i++) {
+            total += operation.run(firstIndex + i);
+        }
+        sink += total;
+    }
+
+    // A Scanner that reads script over and over
+    private static Scanner scriptedInput(String script) {
+        byte[] bytes = script.getBytes(StandardCharsets.UTF_8);
+        InputStream in = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                byte b = bytes[position];
+                position = (position + 1) % bytes.length;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                for (int i = 0; i < length; i++) {
+                    buffer[offset + i] = (byte) read();
+                }
+                return length;
+            }
+        };
+        return new Scanner(in, StandardCharsets.UTF_8);
+    }
+
+    private void report(Map<String, Result> baseline) {
+        System.out.printf("%-44s %12s %10s %12s%s%n", "Benchmark", "ns/op", "+/- ns", "B/op",
+                baseline != null ? String.format(" %11s %10s", "ns delta", "B delta") : "");
+        for (Result result : results) {
+            String comparison = "";
+            if (baseline != null) {
+                Result base = baseline.get(result.name);
+                if (base == null) {
+                    comparison = "        (new)";
+                } else {
+                    double noise = 2 * Math.hypot(result.nanosError, base.nanosError);
+                    boolean withinNoise = Math.abs(result.nanosPerOp - base.nanosPerOp) <= noise;
+                    comparison = String.format(" %+9.1f%%%s %+9.1f%%",
+                            percentChange(base.nanosPerOp, result.nanosPerOp), withinNoise ? "~" : " ",
+                            percentChange(base.bytesPerOp, result.bytesPerOp));
+                }
+            }
+            System.out.printf("%-44s %12.1f %10.1f %12.1f%s%n", result.name, result.nanosPerOp,
+                    result.nanosError, result.bytesPerOp, comparison);
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static double percentChange(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : 100;
+        }
+        return (after - before) * 100 / before;
+    }
+
+    // One line per benchmark: name, mean ns/op, B/op, ns/op deviation
+    private void writeResults(Path path) throws IOException {
+        StringBuilder out = new StringBuilder();
+        for (Result result : results) {
+            out.append(result.name).append('\t').append(result.nanosPerOp).append('\t')
+                    .append(result.bytesPerOp).append('\t').append(result.nanosError).append('\n');
+        }
+        Files.write(path, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Baselines saved before the deviation column was added read as exact
+    private static Map<String, Result> readResults(Path path) throws IOException {
+        Map<String, Result> results = new HashMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length == 3 || fields.length == 4) {
+                double error = fields.length == 4 ? Double.parseDouble(fields[3]) : 0;
+                results.put(fields[0], new Result(fields[0], Double.parseDouble(fields[1]), error,
+                        Double.parseDouble(fields[2])));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,221 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Read-only prefix trie for as-you-type suggestions. Each term carries an int
+// payload (what the caller wants back, e.g. an element slot) and a rank
+// (lower is better, e.g. atomic number). Every node stores the top-k payloads
+// under it, so completing a prefix is a walk down the trie with no search of
+// the subtree. Terms are matched ignoring case, and a payload reached through
+// several terms (a symbol and a name) is listed once.
+//
+// Nodes are laid out breadth first in flat arrays with each node's children
+// next to each other, sorted by character. A Cursor follows keystrokes one
+// character at a time and allocates nothing, so a keystroke is a scan of at
+// most one node's children.
+//
+// Build with a Builder; any terms work, so isotope or compound names can be
+// added next to elements with their own payloads.
+public class PrefixTrie {
+    private final int topK;
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    // Up to topK payloads per node, best first, at node * topK
+    private final int[] top;
+    private final int[] topCount;
+    private final int maxDepth;
+
+    public static final class Builder {
+        private static final class Node {
+            final TreeMap<Character, Node> children = new TreeMap<>();
+            final List<int[]> top = new ArrayList<>(); // {payload, rank}
+        }
+
+        private final int topK;
+        private final Node root = new Node();
+        private int nodeCount = 1;
+        private int maxDepth;
+
+        public Builder(int topK) {
+            if (topK < 1) {
+                throw new IllegalArgumentException("topK must be at least 1: " + topK);
+            }
+            this.topK = topK;
+        }
+
+        public Builder add(String term, int payload, int rank) {
+            Node node = root;
+            offer(node, payload, rank);
+            for (int i = 0; i < term.length(); i++) {
+                char c = Character.toLowerCase(term.charAt(i));
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                    nodeCount++;
+                }
+                node = child;
+                offer(node, payload, rank);
+            }
+            maxDepth = Math.max(maxDepth, term.length());
+            return this;
+        }
+
+        // Keeps the topK best (payload, rank) pairs, one per payload
+        private void offer(Node node, int payload, int rank) {
+            List<int[]> top = node.top;
+            for (int i = 0; i < top.size(); i++) {
+                if (top.get(i)[0] == payload) {
+                    if (top.get(i)[1] <= rank) {
+                        return;
+                    }
+                    top.remove(i);
+                    break;
+                }
+            }
+            int position = 0;
+            while (position < top.size() && top.get(position)[1] <= rank) {
+                position++;
+            }
+            if (position < topK) {
+                top.add(position, new int[]{payload, rank});
+                if (top.size() > topK) {
+                    top.remove(topK);
+                }
+            }
+        }
+
+        public PrefixTrie build() {
+            return new PrefixTrie(this);
+        }
+    }
+
+    private PrefixTrie(Builder builder) {
+        this.topK = builder.topK;
+        this.maxDepth = builder.maxDepth;
+        int nodes = builder.nodeCount;
+        this.labels = new char[nodes];
+        this.firstChild = new int[nodes];
+        this.childCount = new int[nodes];
+        this.top = new int[nodes * topK];
+        this.topCount = new int[nodes];
+
+        // Breadth first, so each node's children get consecutive numbers
+        List<Builder.Node> queue = new ArrayList<>(nodes);
+        queue.add(builder.root);
+        for (int node = 0; node < queue.size(); node++) {
+            Builder.Node current = queue.get(node);
+            firstChild[node] = queue.size();
+            childCount[node] = current.children.size();
+            for (Map.Entry<Character, Builder.Node> child : current.children.entrySet()) {
+                labels[queue.size()] = child.getKey();
+                queue.add(child.getValue());
+            }
+            topCount[node] = current.top.size();
+            for (int i = 0; i < current.top.size(); i++) {
+                top[node * topK + i] = current.top.get(i)[0];
+            }
+        }
+    }
+
+    // Element symbols and names, payload = table slot (see PeriodicTable.elementAt),
+    // ranked by atomic number
+    public static PrefixTrie forElements(PeriodicTable periodicTable, int topK) {
+        Builder builder = new Builder(topK);
+        for (int slot = 0; slot < periodicTable.getSize(); slot++) {
+            Element element = periodicTable.elementAt(slot);
+            builder.add(element.getSymbol(), slot, element.getAtomicNumber());
+            builder.add(element.getName(), slot, element.getAtomicNumber());
+        }
+        return builder.build();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Writes up to out.length best payloads for prefix into out and returns how many
+    public int complete(CharSequence prefix, int[] out) {
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, Character.toLowerCase(prefix.charAt(i)));
+        }
+        if (node < 0) {
+            return 0;
+        }
+        int count = Math.min(out.length, topCount[node]);
+        System.arraycopy(top, node * topK, out, 0, count);
+        return count;
+    }
+
+    private int child(int node, char c) {
+        int first = firstChild[node];
+        int end = first + childCount[node];
+        for (int child = first; child < end; child++) {
+            if (labels[child] == c) {
+                return child;
+            }
+            if (labels[child] > c) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    // Position in the trie for the text typed so far. type() adds a character,
+    // erase() removes the last one and reset() clears it; none of them allocate.
+    public final class Cursor {
+        private final int[] path = new int[maxDepth + 1];
+        private int depth;
+        // Characters typed past the point where nothing matched
+        private int misses;
+
+        private Cursor() {
+        }
+
+        public void reset() {
+            depth = 0;
+            misses = 0;
+        }
+
+        // Returns whether anything still matches
+        public boolean type(char c) {
+            if (misses == 0) {
+                int next = child(path[depth], Character.toLowerCase(c));
+                if (next >= 0) {
+                    path[++depth] = next;
+                    return true;
+                }
+            }
+            misses++;
+            return false;
+        }
+
+        public void erase() {
+            if (misses > 0) {
+                misses--;
+            } else if (depth > 0) {
+                depth--;
+            }
+        }
+
+        // Number of suggestions for the current prefix
+        public int count() {
+            return misses > 0 ? 0 : topCount[path[depth]];
+        }
+
+        // The i-th best payload, 0 <= i < count()
+        public int payload(int i) {
+            if (i < 0 || i >= count()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Count: " + count());
+            }
+            return top[path[depth] * topK + i];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Bounded cache of search results, keyed by query string, for traffic that
+// keeps asking the same few questions. Results are immutable lists, so one
+// cached list is handed to every caller that asks the same query.
+//
+// Lookups take no lock: entries live in a ConcurrentHashMap and a miss runs
+// the search on the calling thread before publishing it, so readers never
+// wait on each other (two threads missing the same query may both search;
+// one result is kept). Eviction is approximately LRU: a logical clock ticks
+// once per miss, each entry remembers the tick it was last used at, and a
+// miss that takes the cache over capacity removes the entry with the oldest
+// tick. Hits only write that tick when it has moved on since, so a hot entry
+// isn't rewritten on every read.
+//
+// Entries belong to one table version: the first lookup after the table
+// changes (e.g. addElement) starts from an empty cache.
+public class QueryCache {
+    private static final class Entry {
+        final List<Element> results;
+        volatile long lastUsed;
+
+        Entry(List<Element> results, long lastUsed) {
+            this.results = results;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    // All entries for one table version; replaced as a whole when it changes
+    private static final class Generation {
+        final int version;
+        final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        Generation(int version) {
+            this.version = version;
+        }
+    }
+
+    private final int capacity;
+    private final Function<String, List<Element>> search;
+    private volatile Generation generation = new Generation(-1);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong clock = new AtomicLong();
+
+    // search computes the results for a normalized query and must return an
+    // immutable list
+    public QueryCache(int capacity, Function<String, List<Element>> search) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.search = search;
+    }
+
+    // Cached results for query at tableVersion, computing them on a miss
+    public List<Element> get(String query, int tableVersion) {
+        Generation current = generation;
+        if (current.version != tableVersion) {
+            current = new Generation(tableVersion);
+            generation = current;
+        }
+        String key = normalize(query);
+        Entry entry = current.entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            long now = clock.get();
+            if (entry.lastUsed != now) {
+                entry.lastUsed = now;
+            }
+            return entry.results;
+        }
+        misses.increment();
+        List<Element> results = search.apply(key);
+        Entry raced = current.entries.putIfAbsent(key, new Entry(results, clock.incrementAndGet()));
+        if (raced != null) {
+            return raced.results;
+        }
+        if (current.entries.size() > capacity) {
+            evict(current.entries);
+        }
+        return results;
+    }
+
+    // Removes least recently used entries until back within capacity. A
+    // scan per eviction is cheap at the sizes used here, and only misses pay it.
+    private void evict(ConcurrentHashMap<String, Entry> entries) {
+        while (entries.size() > capacity) {
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastUsed < oldest.getValue().lastUsed) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return; // emptied by another thread meanwhile
+            }
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    // The searches cached here compare char by char with Character.toLowerCase,
+    // so queries that differ only in case share an entry
+    static String normalize(String query) {
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (Character.toLowerCase(c) != c) {
+                char[] lower = query.toCharArray();
+                for (int j = i; j < lower.length; j++) {
+                    lower[j] = Character.toLowerCase(lower[j]);
+                }
+                return new String(lower);
+            }
+        }
+        return query;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return generation.entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : hitCount / (double) lookups;
+    }
+
+    public void clear() {
+        generation.entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d entries, %d hits, %d misses (%.1f%% hit ratio), %d evictions",
+                size(), capacity, getHits(), getMisses(), getHitRatio() * 100, getEvictions());
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Behaviour checks for QueryCache and the cached searches in PeriodicTable.
+//   java QueryCacheCheck
+public class QueryCacheCheck {
+    public static void main(String[] args) throws Exception {
+        Checks checks = new Checks("QueryCacheCheck");
+        hitsAndNormalization(checks);
+        staleEntriesAfterAddElement(checks);
+        eviction(checks);
+        readersDoNotBlock(checks);
+        checks.finish();
+    }
+
+    private static void hitsAndNormalization(Checks checks) {
+        PeriodicTable table = new PeriodicTable();
+        List<Element> first = table.queryByName("ium");
+        checks.that(first == table.queryByName("IUM"), "queries differing in case share one cached list");
+        checks.equal(1L, table.getNameQueryCache().getHits(), "second lookup is a hit");
+        checks.equal(1L, table.getNameQueryCache().getMisses(), "first lookup is a miss");
+        checks.equal(first.size(), table.searchByName("ium").length, "array search agrees with the cached list");
+        try {
+            first.clear();
+            checks.that(false, "cached list is immutable");
+        } catch (UnsupportedOperationException expected) {
+            checks.that(true, "cached list is immutable");
+        }
+    }
+
+    private static void staleEntriesAfterAddElement(Checks checks) {
+        PeriodicTable full = new PeriodicTable();
+        PeriodicTable table = new PeriodicTable(full.elements().subList(0, 100));
+        checks.equal(0, table.queryByName("zzon").size(), "no match before the element is added");
+        checks.equal(0, table.queryByCategory("imaginary").size(), "no category match before the element is added");
+        table.addElement(new Element("Zz", "Zzonium", 119, 300.0, "1", "8", "Imaginary", new String[0], "Test"));
+        checks.equal(1, table.queryByName("zzon").size(), "name search sees the added element");
+        checks.equal(1, table.queryByCategory("imaginary").size(), "category search sees the added element");
+        checks.equal(1, table.searchByName("ZZON").length, "array name search sees the added element");
+        checks.equal(2L, table.getNameQueryCache().getMisses(), "lookup after addElement is a miss");
+    }
+
+    private static void eviction(Checks checks) {
+        AtomicInteger searches = new AtomicInteger();
+        QueryCache cache = new QueryCache(4, query -> {
+            searches.incrementAndGet();
+            return List.of();
+        });
+        for (int i = 0; i < 100; i++) {
+            cache.get("q" + i, 0);
+        }
+        checks.that(cache.size() <= 4, "size stays within capacity, was " + cache.size());
+        checks.equal(96L, cache.getEvictions(), "every entry past capacity is evicted");
+
+        // A query that keeps being hit survives a stream of one-off queries
+        cache.get("hot", 0);
+        for (int i = 0; i < 100; i++) {
+            cache.get("hot", 0);
+            cache.get("cold" + i, 0);
+        }
+        int before = searches.get();
+        cache.get("hot", 0);
+        checks.equal(before, searches.get(), "frequently used entry is not evicted");
+    }
+
+    // One reader stuck computing a miss must not hold up other readers
+    private static void readersDoNotBlock(Checks checks) throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        QueryCache cache = new QueryCache(64, query -> {
+            if (query.equals("slow")) {
+                slowStarted.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return List.of();
+        });
+        cache.get("warm", 0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            Future<?> slow = pool.submit(() -> cache.get("slow", 0));
+            checks.that(slowStarted.await(5, TimeUnit.SECONDS), "slow search started");
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int id = t;
+                readers.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.get("warm", 0);
+                        cache.get("miss" + id + "-" + (i % 16), 0);
+                    }
+                    return null;
+                }));
+            }
+            boolean finished = true;
+            for (Future<?> reader : readers) {
+                try {
+                    reader.get(10, TimeUnit.SECONDS);
+                } catch (java.util.concurrent.TimeoutException e) {
+                    finished = false;
+                }
+            }
+            checks.that(finished, "hits and misses complete while another miss is still computing");
+            checks.that(!slow.isDone(), "slow search was still running");
+            releaseSlow.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseSlow.countDown();
+            pool.shutdownNow();
+        }
+
+        // The same through the table: concurrent readers get correct results
+        PeriodicTable table = new PeriodicTable();
+        int expected = table.searchByName("ium").length;
+        table.getNameQueryCache().clear();
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(readers.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        if (table.queryByName(i % 2 == 0 ? "ium" : "IUM").size() != expected) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            boolean allCorrect = true;
+            for (Future<Boolean> result : results) {
+                allCorrect &= result.get(30, TimeUnit.SECONDS);
+            }
+            checks.that(allCorrect, "concurrent table readers all see the same results");
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+}
@@ -5,19 +5,30 @@ public class Quiz {
     private PeriodicTable periodicTable;
     private Scanner scanner;
     private Random random;
-    private int score;
-    private int totalQuestions;
-    private static final int MAX_QUESTIONS = 30;
+    private QuizEngine engine;
+    private int engineVersion;
+    // Remembers this user's results across quizzes in the same run
+    private LeitnerScheduler scheduler;
+    // Where answers are recorded, or null
+    private final QuizResultsLog resultsLog;
+    static final int MAX_QUESTIONS = 30;
+    private static final Metrics.Operation START_QUIZ = Metrics.operation("Quiz.startQuiz");
+    static final int QUESTION_TYPES = 4;
 
     // Interface for different question types (Abstraction)
     public interface Question {
-        void displayQuestion();
+        String getPrompt();
         boolean checkAnswer(String answer);
         String getCorrectAnswer();
+
+        default void displayQuestion() {
+            System.out.println("\n" + getPrompt());
+            System.out.print("Answer: ");
+        }
     }
 
     // Concrete question implementations (Polymorphism)
-    private class SymbolQuestion implements Question {
+    private static class SymbolQuestion implements Question {
         private Element element;
 
         public SymbolQuestion(Element element) {
@@ -25,9 +36,8 @@ public class Quiz {
         }
 
         @Override
-        public void displayQuestion() {
-            System.out.println("\nWhat is the chemical symbol of " + element.getName() + "?");
-            System.out.print("Answer: ");
+        public String getPrompt() {
+            return "What is the chemical symbol of " + element.getName() + "?";
         }
 
         @Override
@@ -41,7 +51,7 @@ public class Quiz {
         }
     }
 
-    private class NameQuestion implements Question {
+    private static class NameQuestion implements Question {
         private Element element;
 
         public NameQuestion(Element element) {
@@ -49,9 +59,8 @@ public class Quiz {
         }
 
         @Override
-        public void displayQuestion() {
-            System.out.println("\nWhat is the name of the element with symbol " + element.getSymbol() + "?");
-            System.out.print("Answer: ");
+        public String getPrompt() {
+            return "What is the name of the element with symbol " + element.getSymbol() + "?";
         }
 
         @Override
@@ -65,7 +74,7 @@ public class Quiz {
         }
     }
 
-    private class AtomicNumberQuestion implements Question {
+    private static class AtomicNumberQuestion implements Question {
         private Element element;
 
         public AtomicNumberQuestion(Element element) {
@@ -73,9 +82,8 @@ public class Quiz {
         }
 
         @Override
-        public void displayQuestion() {
-            System.out.println("\nWhat is the atomic number of " + element.getName() + " (" + element.getSymbol() + ")?");
-            System.out.print("Answer: ");
+        public String getPrompt() {
+            return "What is the atomic number of " + element.getName() + " (" + element.getSymbol() + ")?";
         }
 
         @Override
@@ -94,7 +102,7 @@ public class Quiz {
         }
     }
 
-    private class CategoryQuestion implements Question {
+    private static class CategoryQuestion implements Question {
         private Element element;
 
         public CategoryQuestion(Element element) {
@@ -102,9 +110,8 @@ public class Quiz {
         }
 
         @Override
-        public void displayQuestion() {
-            System.out.println("\nWhat category does " + element.getName() + " (" + element.getSymbol() + ") belong to?");
-            System.out.print("Answer: ");
+        public String getPrompt() {
+            return "What category does " + element.getName() + " (" + element.getSymbol() + ") belong to?";
         }
 
         @Override
@@ -119,22 +126,22 @@ public class Quiz {
     }
 
     public Quiz(PeriodicTable periodicTable, Scanner scanner) {
+        this(periodicTable, scanner, null);
+    }
+
+    public Quiz(PeriodicTable periodicTable, Scanner scanner, QuizResultsLog resultsLog) {
         this.periodicTable = periodicTable;
         this.scanner = scanner;
         this.random = new Random();
-        this.score = 0;
-        this.totalQuestions = 0;
+        this.resultsLog = resultsLog;
     }
 
     public void startQuiz() {
+        long start = Metrics.start();
         System.out.println("\n" + "=".repeat(60));
         System.out.println("  PERIODIC TABLE QUIZ");
         System.out.println("=".repeat(60));
         
-        // Reset score for new quiz
-        score = 0;
-        totalQuestions = 0;
-        
         System.out.print("How many questions would you like? (Maximum: " + MAX_QUESTIONS + ") ");
         int numQuestions = 0;
         
@@ -156,33 +163,46 @@ public class Quiz {
             numQuestions = 10;
         }
 
-        Element[] allElements = periodicTable.getAllElements();
+        // A fresh session per quiz, so the score always starts at zero;
+        // questions come from the scheduler, so missed ones come back sooner
+        QuizEngine quizEngine = engine();
+        QuizSession session = new QuizSession("console-" + Long.toHexString(random.nextLong()), quizEngine,
+                numQuestions, random, scheduler, System.getProperty("user.name"), resultsLog);
         
         System.out.println("\nStarting quiz with " + numQuestions + " question(s)...");
         System.out.println("-".repeat(60));
 
-        for (int i = 0; i < numQuestions; i++) {
-            Element randomElement = allElements[random.nextInt(allElements.length)];
-            Question question = generateRandomQuestion(randomElement);
-
-            question.displayQuestion();
+        while (!session.isFinished()) {
+            session.nextQuestion();
+            System.out.println("\n" + session.getPrompt());
+            System.out.print("Answer: ");
             String userAnswer = scanner.nextLine();
 
-            if (question.checkAnswer(userAnswer)) {
+            if (session.answer(userAnswer)) {
                 System.out.println("✓ Correct!");
-                score++;
             } else {
-                System.out.println("✗ Incorrect! The correct answer is: " + question.getCorrectAnswer());
+                System.out.println("✗ Incorrect! The correct answer is: " + session.getLastCorrectAnswer());
             }
-            totalQuestions++;
         }
 
-        displayResults();
+        displayResults(session.getScore(), session.getAnswered());
+        // A hit is a quiz with at least one right answer
+        START_QUIZ.record(start, session.getScore() > 0);
+    }
+
+    // Rebuilt only when the table has changed since the last quiz (which also
+    // resets the scheduler, as question codes may have moved)
+    private QuizEngine engine() {
+        if (engine == null || engineVersion != periodicTable.getVersion()) {
+            engine = new QuizEngine(periodicTable);
+            engineVersion = periodicTable.getVersion();
+            scheduler = new LeitnerScheduler(engine.getQuestionCount());
+        }
+        return engine;
     }
 
     // Polymorphism - can generate different types of questions
-    private Question generateRandomQuestion(Element element) {
-        int questionType = random.nextInt(4);
+    static Question createQuestion(int questionType, Element element) {
         switch (questionType) {
             case 0:
                 return new SymbolQuestion(element);
@@ -197,7 +217,7 @@ public class Quiz {
         }
     }
 
-    private void displayResults() {
+    private void displayResults(int score, int totalQuestions) {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("  QUIZ RESULTS");
         System.out.println("=".repeat(60));
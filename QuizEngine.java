@@ -0,0 +1,168 @@
+import java.util.List;
+import java.util.Random;
+
+// Question generation and answer checking with no console I/O, so the same
+// quiz logic can drive the console Quiz, a server, or a load test.
+//
+// A question is an int code, elementIndex * QUESTION_TYPES + type. Prompts,
+// correct answers and normalized answer keys are built once per code, so
+// drawing and grading a question allocates nothing: answers are compared in
+// place, skipping surrounding whitespace and ignoring case, and numbers are
+// parsed without exceptions.
+//
+// The engine takes a copy of the table's element list when it is created and
+// never changes afterwards, so one instance can be shared by any number of
+// sessions and threads.
+public class QuizEngine {
+    public static final int SYMBOL = 0;
+    public static final int NAME = 1;
+    public static final int ATOMIC_NUMBER = 2;
+    public static final int CATEGORY = 3;
+    public static final int QUESTION_TYPES = Quiz.QUESTION_TYPES;
+
+    private final List<Element> elements;
+    private final int[] atomicNumbers;
+    // Indexed by question code
+    private final String[] prompts;
+    private final String[] correctAnswers;
+    private final char[][] answerKeys;
+
+    public QuizEngine(PeriodicTable periodicTable) {
+        this.elements = List.copyOf(periodicTable.elements());
+        if (elements.isEmpty()) {
+            throw new IllegalArgumentException("Cannot run a quiz on an empty periodic table");
+        }
+        int codes = elements.size() * QUESTION_TYPES;
+        this.atomicNumbers = new int[elements.size()];
+        this.prompts = new String[codes];
+        this.correctAnswers = new String[codes];
+        this.answerKeys = new char[codes][];
+        for (int i = 0; i < elements.size(); i++) {
+            Element element = elements.get(i);
+            atomicNumbers[i] = element.getAtomicNumber();
+            for (int type = 0; type < QUESTION_TYPES; type++) {
+                Quiz.Question question = Quiz.createQuestion(type, element);
+                int code = questionCode(type, i);
+                prompts[code] = question.getPrompt();
+                correctAnswers[code] = question.getCorrectAnswer();
+                answerKeys[code] = normalize(correctAnswers[code]);
+            }
+        }
+    }
+
+    public static int questionCode(int questionType, int elementIndex) {
+        return elementIndex * QUESTION_TYPES + questionType;
+    }
+
+    public static int questionType(int code) {
+        return code % QUESTION_TYPES;
+    }
+
+    public static int elementIndex(int code) {
+        return code / QUESTION_TYPES;
+    }
+
+    public int getElementCount() {
+        return elements.size();
+    }
+
+    public int getQuestionTypeCount() {
+        return QUESTION_TYPES;
+    }
+
+    // Number of distinct question codes, 0 .. getQuestionCount() - 1
+    public int getQuestionCount() {
+        return prompts.length;
+    }
+
+    // A random question type about a random element
+    public int randomQuestionCode(Random random) {
+        return random.nextInt(prompts.length);
+    }
+
+    public String prompt(int code) {
+        return prompts[code];
+    }
+
+    public String correctAnswer(int code) {
+        return correctAnswers[code];
+    }
+
+    public int atomicNumber(int code) {
+        return atomicNumbers[elementIndex(code)];
+    }
+
+    public Element element(int code) {
+        return elements.get(elementIndex(code));
+    }
+
+    // Same rules as the Question classes: surrounding whitespace is ignored,
+    // text is compared ignoring case, and numbers accept a sign and leading zeros
+    public boolean checkAnswer(int code, CharSequence answer) {
+        int start = 0;
+        int end = answer.length();
+        while (start < end && answer.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && answer.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (questionType(code) == ATOMIC_NUMBER) {
+            return parseNumber(answer, start, end) == atomicNumbers[elementIndex(code)];
+        }
+        char[] key = answerKeys[code];
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            char c = answer.charAt(start + i);
+            if (c != key[i] && foldCase(c) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Object form of a question, for callers that want the Question interface
+    public Quiz.Question question(int code) {
+        return Quiz.createQuestion(questionType(code), element(code));
+    }
+
+    private static char[] normalize(String answer) {
+        char[] key = answer.toCharArray();
+        for (int i = 0; i < key.length; i++) {
+            key[i] = foldCase(key[i]);
+        }
+        return key;
+    }
+
+    // Same folding as String.equalsIgnoreCase
+    private static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    // Value of an optionally signed decimal integer, or Long.MIN_VALUE if the
+    // text is not one or does not fit in an int
+    private static long parseNumber(CharSequence text, int start, int end) {
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '+' || text.charAt(start) == '-')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+        if (start == end) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                return Long.MIN_VALUE;
+            }
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,388 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Append-only binary log of quiz answers.
+//
+// Layout (big-endian): int magic, int formatVersion, then fixed-size records:
+//   long timestampMillis, long sessionKey, int userId, short atomicNumber,
+//   byte questionType, byte correct
+// A summary record written by compact() has SUMMARY_FLAG set in questionType
+// and holds attempts << 32 | correct in place of sessionKey. User names are
+// kept one per line in a side file (<log>.users); a user id is its line
+// number, and -1 means an anonymous session.
+//
+// append() only copies the record into a buffer. A background thread writes
+// whatever has piled up and forces it to disk with a single call, so all the
+// sessions answering in the meantime share one fsync (group commit). flush()
+// waits until everything appended so far is on disk. Write errors are
+// reported by flush() and close(); records appended after one are dropped.
+//
+// An open log holds an exclusive lock on the file until it is closed, so a
+// second writer (another running copy of the app) or compact() fails to open
+// it rather than overwriting records or handing out the same user ids.
+public class QuizResultsLog implements Closeable {
+    public static final String FILE_PROPERTY = "periodictable.results";
+    public static final String DEFAULT_FILE = "quiz-results.log";
+
+    static final int MAGIC = 0x50545131; // "PTQ1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 24;
+    static final int SUMMARY_FLAG = 0x80;
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final FileChannel usersChannel;
+    private final Map<String, Integer> userIds;
+
+    private final Object lock = new Object();
+    // Appenders fill one buffer while the writer thread drains the other
+    private ByteBuffer filling = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE);
+    private long appended;
+    private long durable;
+    private boolean closed;
+    private IOException failure;
+    private final Thread writer;
+
+    private QuizResultsLog(FileChannel channel, FileChannel usersChannel, Map<String, Integer> userIds) {
+        this.channel = channel;
+        this.usersChannel = usersChannel;
+        this.userIds = userIds;
+        this.writer = new Thread(this::writeLoop, "quiz-results-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // -Dperiodictable.results=... or quiz-results.log in the working directory
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+    }
+
+    public static Path usersFileFor(Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + ".users");
+    }
+
+    // Opens the log for appending, creating it if needed. A record torn by a
+    // crash at the end of the file is cut off. Fails if another writer has it open.
+    public static QuizResultsLog open(Path logFile) throws IOException {
+        FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Released when the channel is closed
+            lock(channel, logFile);
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            } else {
+                checkHeader(channel, logFile);
+                long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+                channel.truncate(HEADER_SIZE + records * RECORD_SIZE);
+            }
+            channel.position(channel.size());
+
+            Path usersFile = usersFileFor(logFile);
+            FileChannel usersChannel = FileChannel.open(usersFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            try {
+                // A name torn by a crash never got an id into the log; drop it
+                // so the next name starts on its own line
+                byte[] names = Files.readAllBytes(usersFile);
+                int end = names.length;
+                while (end > 0 && names[end - 1] != '\n') {
+                    end--;
+                }
+                usersChannel.truncate(end);
+                Map<String, Integer> userIds = new HashMap<>();
+                List<String> lines = new String(names, 0, end, StandardCharsets.UTF_8).lines().toList();
+                for (int i = 0; i < lines.size(); i++) {
+                    userIds.put(lines.get(i), i);
+                }
+                return new QuizResultsLog(channel, usersChannel, userIds);
+            } catch (IOException | RuntimeException e) {
+                usersChannel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // The exclusive lock every writer of logFile holds; channel must be writable
+    private static FileLock lock(FileChannel channel, Path logFile) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // held elsewhere in this JVM
+        }
+        if (lock == null) {
+            throw new IOException("Quiz results log is in use by another writer: " + logFile);
+        }
+        return lock;
+    }
+
+    static void checkHeader(FileChannel channel, Path logFile) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // keep reading
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a quiz results log: " + logFile);
+        }
+    }
+
+    // 64-bit FNV-1a hash of a session id, as stored in the log
+    public static long sessionKey(String sessionId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < sessionId.length(); i++) {
+            hash ^= sessionId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Records one answer; user may be null for an anonymous session
+    public void append(String user, long sessionKey, int atomicNumber, int questionType, boolean correct) {
+        int userId = user != null ? userId(user) : -1;
+        boolean interrupted = false;
+        synchronized (lock) {
+            // Wait for the writer to free space rather than grow without bound
+            while (!filling.hasRemaining() && failure == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException("Quiz results log is closed");
+            }
+            if (failure == null) {
+                filling.putLong(System.currentTimeMillis())
+                        .putLong(sessionKey)
+                        .putInt(userId)
+                        .putShort((short) atomicNumber)
+                        .put((byte) questionType)
+                        .put((byte) (correct ? 1 : 0));
+                appended++;
+                lock.notifyAll();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Waits until every record appended so far is on disk
+    public void flush() throws IOException {
+        synchronized (lock) {
+            long target = appended;
+            while (durable < target && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while flushing quiz results");
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } finally {
+            usersChannel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private int userId(String user) {
+        synchronized (userIds) {
+            Integer id = userIds.get(user);
+            if (id != null) {
+                return id;
+            }
+            if (user.indexOf('\n') >= 0 || user.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("User name contains a line break");
+            }
+            // New users are rare, so the name is made durable before any record uses its id
+            try {
+                ByteBuffer line = ByteBuffer.wrap((user + "\n").getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) {
+                    usersChannel.write(line);
+                }
+                usersChannel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+                return -1;
+            }
+            int newId = userIds.size();
+            userIds.put(user, newId);
+            return newId;
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            long batchEnd;
+            synchronized (lock) {
+                while (filling.position() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // only close() stops the writer
+                    }
+                }
+                if (filling.position() == 0) {
+                    return;
+                }
+                ByteBuffer full = filling;
+                filling = writing;
+                writing = full;
+                batchEnd = appended;
+                lock.notifyAll();
+            }
+            writing.flip();
+            try {
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            writing.clear();
+            synchronized (lock) {
+                durable = batchEnd;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Folds every record older than cutoffMillis into one summary record per
+    // (user, element, question type) and rewrites the log; newer records are
+    // kept as they are. Fails if the log is open for appending, and holds the
+    // same lock while it runs so the log can't be opened meanwhile.
+    public static void compact(Path logFile, long cutoffMillis) throws IOException {
+        try (FileChannel locked = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            lock(locked, logFile);
+            QuizResultsReader reader = QuizResultsReader.open(logFile);
+            // key -> {attempts, correct, latest timestamp}
+            Map<Long, long[]> summaries = new TreeMap<>();
+            reader.forEach((timestamp, sessionKey, userId, atomicNumber, questionType, attempts, correct) -> {
+                if (timestamp >= cutoffMillis) {
+                    return;
+                }
+                long key = ((long) userId << 32) | ((atomicNumber & 0xFFFFL) << 8) | questionType;
+                long[] summary = summaries.computeIfAbsent(key, k -> new long[3]);
+                summary[0] += attempts;
+                summary[1] += correct;
+                summary[2] = Math.max(summary[2], timestamp);
+            });
+
+            // Written to a temp file a buffer at a time, then moved in place so
+            // readers never see half a log
+            Path tempFile = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer out = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE);
+                out.putInt(MAGIC).putInt(FORMAT_VERSION);
+                for (Map.Entry<Long, long[]> entry : summaries.entrySet()) {
+                    long key = entry.getKey();
+                    long[] summary = entry.getValue();
+                    // Counts past an int are spread over several summaries
+                    long attempts = summary[0];
+                    long correct = summary[1];
+                    do {
+                        long attemptsPart = Math.min(attempts, Integer.MAX_VALUE);
+                        long correctPart = Math.min(correct, attemptsPart);
+                        if (out.remaining() < RECORD_SIZE) {
+                            drain(out, channel);
+                        }
+                        out.putLong(summary[2])
+                                .putLong(attemptsPart << 32 | correctPart)
+                                .putInt((int) (key >> 32))
+                                .putShort((short) (key >> 8))
+                                .put((byte) (key | SUMMARY_FLAG))
+                                .put((byte) 0);
+                        attempts -= attemptsPart;
+                        correct -= correctPart;
+                    } while (attempts > 0);
+                }
+                for (long i = 0; i < reader.size(); i++) {
+                    if (reader.timestamp(i) >= cutoffMillis) {
+                        if (out.remaining() < RECORD_SIZE) {
+                            drain(out, channel);
+                        }
+                        reader.copyRecord(i, out);
+                    }
+                }
+                drain(out, channel);
+                channel.force(true);
+            }
+            try {
+                Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void drain(ByteBuffer out, FileChannel channel) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
@@ -0,0 +1,123 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Behaviour checks for QuizResultsLog and QuizResultsReader: single-writer
+// locking, user ids, torn tails and compaction.
+//   java QuizResultsLogCheck
+public class QuizResultsLogCheck {
+    public static void main(String[] args) throws IOException {
+        Checks checks = new Checks("QuizResultsLogCheck");
+        Path directory = Files.createTempDirectory("quiz-results-check");
+        try {
+            singleWriter(checks, directory.resolve("single.log"));
+            tornTails(checks, directory.resolve("torn.log"));
+            compaction(checks, directory.resolve("compact.log"));
+            largeSummaries(checks, directory.resolve("large.log"));
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        checks.finish();
+    }
+
+    private static void singleWriter(Checks checks, Path logFile) throws IOException {
+        try (QuizResultsLog log = QuizResultsLog.open(logFile)) {
+            log.append("ada", 1L, 26, 0, true);
+            try {
+                QuizResultsLog.open(logFile).close();
+                checks.that(false, "a second writer is refused");
+            } catch (IOException expected) {
+                checks.that(true, "a second writer is refused");
+            }
+            try {
+                QuizResultsLog.compact(logFile, Long.MAX_VALUE);
+                checks.that(false, "compact is refused while the log is open");
+            } catch (IOException expected) {
+                checks.that(true, "compact is refused while the log is open");
+            }
+            log.append("bob", 2L, 8, 1, false);
+            log.flush();
+        }
+        // Reopening after close works and keeps the user ids
+        try (QuizResultsLog log = QuizResultsLog.open(logFile)) {
+            log.append("bob", 3L, 1, 2, true);
+            log.append("cy", 3L, 1, 2, true);
+        }
+        QuizResultsReader reader = QuizResultsReader.open(logFile);
+        checks.equal(4L, reader.size(), "all records from both writers are kept");
+        Map<String, QuizResultsReader.Totals> byUser = reader.statsByUser();
+        checks.equal(2L, byUser.get("bob").getAttempts(), "a user keeps one id across reopens");
+        checks.equal(1L, byUser.get("cy").getAttempts(), "a new user after reopen gets a fresh id");
+        checks.equal(1L, byUser.get("ada").getAttempts(), "earlier users are unaffected");
+    }
+
+    private static void tornTails(Checks checks, Path logFile) throws IOException {
+        try (QuizResultsLog log = QuizResultsLog.open(logFile)) {
+            log.append("ada", 1L, 26, 0, true);
+        }
+        // A crash mid-record and mid-name
+        Files.write(logFile, new byte[]{1, 2, 3}, java.nio.file.StandardOpenOption.APPEND);
+        Files.write(QuizResultsLog.usersFileFor(logFile), "half-a-na".getBytes(StandardCharsets.UTF_8),
+                java.nio.file.StandardOpenOption.APPEND);
+        try (QuizResultsLog log = QuizResultsLog.open(logFile)) {
+            log.append("bob", 2L, 8, 0, true);
+        }
+        QuizResultsReader reader = QuizResultsReader.open(logFile);
+        checks.equal(2L, reader.size(), "torn record is cut off");
+        checks.equal(1L, reader.statsByUser().get("bob").getAttempts(), "torn name is dropped and the next user is readable");
+        checks.that(!reader.statsByUser().containsKey("half-a-na"), "torn name is gone");
+    }
+
+    private static void compaction(Checks checks, Path logFile) throws IOException {
+        try (QuizResultsLog log = QuizResultsLog.open(logFile)) {
+            for (int i = 0; i < 10_000; i++) {
+                log.append(i % 2 == 0 ? "ada" : "bob", i, 1 + i % 3, 0, i % 4 == 0);
+            }
+        }
+        QuizResultsReader before = QuizResultsReader.open(logFile);
+        long cutoff = before.timestamp(before.size() - 1);
+        long recent = 0;
+        for (long i = 0; i < before.size(); i++) {
+            if (before.timestamp(i) >= cutoff) {
+                recent++;
+            }
+        }
+        QuizResultsLog.compact(logFile, cutoff);
+        QuizResultsReader after = QuizResultsReader.open(logFile);
+        checks.that(after.size() <= recent + 6, "old records fold into one summary per (user, element, type), size " + after.size());
+        checks.equal(5_000L, after.statsByUser().get("ada").getAttempts(), "attempts survive compaction");
+        checks.equal(2_500L, after.statsByUser().get("ada").getCorrect(), "correct answers survive compaction");
+        checks.equal(0L, after.statsByUser().get("bob").getCorrect(), "other users survive compaction");
+        checks.that(!Files.exists(logFile.resolveSibling(logFile.getFileName() + ".tmp")), "temp file is moved in place");
+    }
+
+    // Summaries whose counts add up past an int are split over several
+    // records; the log is written by hand, as it would take billions of answers
+    private static void largeSummaries(Checks checks, Path logFile) throws IOException {
+        ByteBuffer log = ByteBuffer.allocate(QuizResultsLog.HEADER_SIZE + 3 * QuizResultsLog.RECORD_SIZE);
+        log.putInt(QuizResultsLog.MAGIC).putInt(QuizResultsLog.FORMAT_VERSION);
+        for (int i = 0; i < 3; i++) {
+            log.putLong(1000L + i)
+                    .putLong((long) Integer.MAX_VALUE << 32 | 7)
+                    .putInt(-1)
+                    .putShort((short) 26)
+                    .put((byte) QuizResultsLog.SUMMARY_FLAG)
+                    .put((byte) 0);
+        }
+        Files.write(logFile, log.array());
+        QuizResultsLog.compact(logFile, 2000L);
+        QuizResultsReader reader = QuizResultsReader.open(logFile);
+        checks.equal(3L, reader.size(), "a summary past Integer.MAX_VALUE attempts is split");
+        QuizResultsReader.Totals iron = reader.statsByElement()[26];
+        checks.equal(3L * Integer.MAX_VALUE, iron.getAttempts(), "split summaries keep every attempt");
+        checks.equal(21L, iron.getCorrect(), "split summaries keep every correct answer");
+    }
+}
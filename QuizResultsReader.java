@@ -0,0 +1,209 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads a QuizResultsLog through memory-mapped segments and computes
+// statistics from it. A reader sees the records that were on disk when it was
+// opened; a record torn by a crash at the end is ignored. Safe to use while a
+// QuizResultsLog is appending to the same file.
+public class QuizResultsReader {
+    // Whole records per mapped segment, keeping each segment under 2 GB
+    private static final long SEGMENT_RECORDS = Integer.MAX_VALUE / QuizResultsLog.RECORD_SIZE;
+
+    // One answer, or a compacted summary of many (attempts > 1)
+    public interface RecordVisitor {
+        void visit(long timestampMillis, long sessionKey, int userId, int atomicNumber,
+                   int questionType, int attempts, int correct);
+    }
+
+    public static final class Totals {
+        private long attempts;
+        private long correct;
+
+        void add(long attempts, long correct) {
+            this.attempts += attempts;
+            this.correct += correct;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        public double getAccuracy() {
+            return attempts == 0 ? 0.0 : correct / (double) attempts;
+        }
+    }
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final List<String> users;
+
+    private QuizResultsReader(MappedByteBuffer[] segments, long size, List<String> users) {
+        this.segments = segments;
+        this.size = size;
+        this.users = users;
+    }
+
+    public static QuizResultsReader open(Path logFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            QuizResultsLog.checkHeader(channel, logFile);
+            long records = (channel.size() - QuizResultsLog.HEADER_SIZE) / QuizResultsLog.RECORD_SIZE;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((records + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = i * SEGMENT_RECORDS;
+                long count = Math.min(SEGMENT_RECORDS, records - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        QuizResultsLog.HEADER_SIZE + first * QuizResultsLog.RECORD_SIZE,
+                        count * QuizResultsLog.RECORD_SIZE);
+            }
+            Path usersFile = QuizResultsLog.usersFileFor(logFile);
+            List<String> users = Files.exists(usersFile)
+                    ? Files.readAllLines(usersFile, StandardCharsets.UTF_8)
+                    : Collections.emptyList();
+            return new QuizResultsReader(segments, records, users);
+        }
+    }
+
+    // Number of records, counting each summary as one
+    public long size() {
+        return size;
+    }
+
+    // Name for a user id, or null for anonymous sessions and unknown ids
+    public String userName(int userId) {
+        return userId >= 0 && userId < users.size() ? users.get(userId) : null;
+    }
+
+    public long timestamp(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    public void forEach(RecordVisitor visitor) {
+        for (MappedByteBuffer segment : segments) {
+            int end = segment.limit();
+            for (int offset = 0; offset < end; offset += QuizResultsLog.RECORD_SIZE) {
+                long timestamp = segment.getLong(offset);
+                long sessionKey = segment.getLong(offset + 8);
+                int userId = segment.getInt(offset + 16);
+                int atomicNumber = segment.getShort(offset + 20) & 0xFFFF;
+                int type = segment.get(offset + 22) & 0xFF;
+                if ((type & QuizResultsLog.SUMMARY_FLAG) != 0) {
+                    visitor.visit(timestamp, 0L, userId, atomicNumber, type & ~QuizResultsLog.SUMMARY_FLAG,
+                            (int) (sessionKey >>> 32), (int) sessionKey);
+                } else {
+                    visitor.visit(timestamp, sessionKey, userId, atomicNumber, type, 1, segment.get(offset + 23));
+                }
+            }
+        }
+    }
+
+    // Attempts and correct answers per user name, most active first;
+    // anonymous sessions are under null
+    public Map<String, Totals> statsByUser() {
+        Totals[] byId = new Totals[users.size() + 1];
+        forEach((timestamp, sessionKey, userId, atomicNumber, questionType, attempts, correct) -> {
+            int slot = userId >= 0 && userId < users.size() ? userId + 1 : 0;
+            if (byId[slot] == null) {
+                byId[slot] = new Totals();
+            }
+            byId[slot].add(attempts, correct);
+        });
+        List<Integer> order = new ArrayList<>();
+        for (int slot = 0; slot < byId.length; slot++) {
+            if (byId[slot] != null) {
+                order.add(slot);
+            }
+        }
+        order.sort((a, b) -> Long.compare(byId[b].getAttempts(), byId[a].getAttempts()));
+        Map<String, Totals> stats = new LinkedHashMap<>();
+        for (int slot : order) {
+            stats.put(slot == 0 ? null : users.get(slot - 1), byId[slot]);
+        }
+        return stats;
+    }
+
+    // Attempts and correct answers indexed by atomic number (null where no answers)
+    public Totals[] statsByElement() {
+        // Atomic numbers are stored as unsigned shorts
+        Totals[] byAtomicNumber = new Totals[0x10000];
+        int[] maxAtomicNumber = new int[1];
+        forEach((timestamp, sessionKey, userId, atomicNumber, questionType, attempts, correct) -> {
+            if (byAtomicNumber[atomicNumber] == null) {
+                byAtomicNumber[atomicNumber] = new Totals();
+                maxAtomicNumber[0] = Math.max(maxAtomicNumber[0], atomicNumber);
+            }
+            byAtomicNumber[atomicNumber].add(attempts, correct);
+        });
+        return Arrays.copyOf(byAtomicNumber, maxAtomicNumber[0] + 1);
+    }
+
+    // Copies the raw bytes of one record into out
+    void copyRecord(long index, ByteBuffer out) {
+        MappedByteBuffer segment = segment(index);
+        int offset = offset(index);
+        for (int i = 0; i < QuizResultsLog.RECORD_SIZE; i++) {
+            out.put(segment.get(offset + i));
+        }
+    }
+
+    private MappedByteBuffer segment(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return segments[(int) (index / SEGMENT_RECORDS)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index % SEGMENT_RECORDS) * QuizResultsLog.RECORD_SIZE;
+    }
+
+    // Prints statistics, or compacts the log:
+    //   java QuizResultsReader [log]
+    //   java QuizResultsReader --compact days [log]
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2 && args[0].equals("--compact")) {
+            Path logFile = args.length > 2 ? Paths.get(args[2]) : QuizResultsLog.defaultFile();
+            long cutoff = System.currentTimeMillis() - Long.parseLong(args[1]) * 24 * 60 * 60 * 1000;
+            QuizResultsLog.compact(logFile, cutoff);
+            System.out.println("Compacted " + logFile + " to " + open(logFile).size() + " records");
+            return;
+        }
+        Path logFile = args.length > 0 ? Paths.get(args[0]) : QuizResultsLog.defaultFile();
+        QuizResultsReader reader = open(logFile);
+        PeriodicTable periodicTable = new PeriodicTable();
+
+        System.out.println("Users:");
+        for (Map.Entry<String, Totals> entry : reader.statsByUser().entrySet()) {
+            Totals totals = entry.getValue();
+            System.out.printf("  %-20s %8d answers %6.1f%% correct%n",
+                    entry.getKey() != null ? entry.getKey() : "(anonymous)",
+                    totals.getAttempts(), totals.getAccuracy() * 100);
+        }
+        System.out.println("Elements:");
+        Totals[] byElement = reader.statsByElement();
+        for (int z = 1; z < byElement.length; z++) {
+            if (byElement[z] != null) {
+                Element element = periodicTable.findByAtomicNumber(z);
+                System.out.printf("  %3d %-3s %8d answers %6.1f%% correct%n", z,
+                        element != null ? element.getSymbol() : "?",
+                        byElement[z].getAttempts(), byElement[z].getAccuracy() * 100);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import java.util.Random;
+
+// State of one quiz in progress: the question being asked and the score so far.
+// Nothing else is kept, so a session stays small however long it runs.
+//
+// Call nextQuestion(), then answer(...), until isFinished(). Asking for the
+// next question again before answering returns the same question. Questions
+// are QuizEngine codes; the session allocates nothing per question.
+//
+// With a LeitnerScheduler, questions are drawn by the user's past results and
+// never repeat within the quiz; without one they are uniformly random. With a
+// QuizResultsLog, every answer is recorded there. Methods are synchronized so
+// a client retrying a request can't corrupt the score.
+public class QuizSession {
+    private final String id;
+    private final QuizEngine engine;
+    private final Random random;
+    private final int questionCount;
+    private final LeitnerScheduler scheduler;
+    // Codes held in the scheduler for this quiz
+    private final int[] drawn;
+    private int drawnCount;
+    private final String userId;
+    private final QuizResultsLog resultsLog;
+    private final long sessionKey;
+
+    private int answered;
+    private int score;
+    // Question codes, -1 for none
+    private int current = -1;
+    private int lastAnswered = -1;
+    private volatile long lastAccessNanos;
+
+    public QuizSession(String id, QuizEngine engine, int questionCount, Random random) {
+        this(id, engine, questionCount, random, null);
+    }
+
+    public QuizSession(String id, QuizEngine engine, int questionCount, Random random,
+                       LeitnerScheduler scheduler) {
+        this(id, engine, questionCount, random, scheduler, null, null);
+    }
+
+    // userId and resultsLog may be null for an anonymous or unrecorded quiz
+    public QuizSession(String id, QuizEngine engine, int questionCount, Random random,
+                       LeitnerScheduler scheduler, String userId, QuizResultsLog resultsLog) {
+        if (questionCount < 1) {
+            throw new IllegalArgumentException("A quiz needs at least one question");
+        }
+        this.id = id;
+        this.engine = engine;
+        this.questionCount = questionCount;
+        this.random = random;
+        this.scheduler = scheduler;
+        this.userId = userId;
+        this.resultsLog = resultsLog;
+        this.sessionKey = QuizResultsLog.sessionKey(id);
+        this.drawn = scheduler != null ? new int[questionCount] : null;
+        if (scheduler != null) {
+            scheduler.grow(engine.getQuestionCount());
+        }
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // Code of the question to ask next
+    public synchronized int nextQuestion() {
+        touch();
+        if (current < 0) {
+            if (answered >= questionCount) {
+                throw new IllegalStateException("Quiz " + id + " is finished");
+            }
+            current = draw();
+        }
+        return current;
+    }
+
+    // Prompt of the question returned by nextQuestion()
+    public synchronized String getPrompt() {
+        if (current < 0) {
+            throw new IllegalStateException("Quiz " + id + " has no question waiting for an answer");
+        }
+        return engine.prompt(current);
+    }
+
+    // Grades the pending question and returns whether the answer was correct
+    public synchronized boolean answer(CharSequence answer) {
+        touch();
+        if (current < 0) {
+            throw new IllegalStateException("Quiz " + id + " has no question waiting for an answer");
+        }
+        boolean correct = engine.checkAnswer(current, answer);
+        lastAnswered = current;
+        current = -1;
+        answered++;
+        if (correct) {
+            score++;
+        }
+        if (resultsLog != null) {
+            resultsLog.append(userId, sessionKey, engine.atomicNumber(lastAnswered),
+                    QuizEngine.questionType(lastAnswered), correct);
+        }
+        if (scheduler != null) {
+            scheduler.record(lastAnswered, correct);
+            if (answered >= questionCount) {
+                releaseDrawn();
+            }
+        }
+        return correct;
+    }
+
+    // Gives held questions back to the scheduler if the quiz is abandoned
+    public synchronized void close() {
+        releaseDrawn();
+    }
+
+    // Correct answer to the question answered last, or null before the first answer
+    public synchronized String getLastCorrectAnswer() {
+        return lastAnswered >= 0 ? engine.correctAnswer(lastAnswered) : null;
+    }
+
+    public synchronized boolean isFinished() {
+        return answered >= questionCount;
+    }
+
+    public synchronized int getScore() {
+        return score;
+    }
+
+    public synchronized int getAnswered() {
+        return answered;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private int draw() {
+        if (scheduler != null) {
+            int code = scheduler.next(random);
+            // -1 when the user's other sessions hold everything else
+            if (code >= 0 && code < engine.getQuestionCount()) {
+                drawn[drawnCount++] = code;
+                return code;
+            }
+            if (code >= 0) {
+                scheduler.release(code);
+            }
+        }
+        return engine.randomQuestionCode(random);
+    }
+
+    private void releaseDrawn() {
+        for (int i = 0; i < drawnCount; i++) {
+            scheduler.release(drawn[i]);
+        }
+        drawnCount = 0;
+    }
+
+    private void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+}
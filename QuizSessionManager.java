@@ -0,0 +1,192 @@
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps many quiz sessions at once, e.g. for a classroom server, all sharing
+// one QuizEngine.
+//
+// The number of live sessions is capped; when the cap is reached, idle
+// sessions are evicted before a new one is refused. Sessions idle for longer
+// than the timeout are also dropped when they are looked up, and evictIdle()
+// can be called periodically to sweep the rest.
+//
+// Sessions started for a user id draw questions from that user's
+// LeitnerScheduler, which outlives the sessions. A user's scheduler is
+// dropped with the idle sessions once the user has no live session and it
+// hasn't been used for the idle timeout, so a returning user starts over;
+// when there are as many schedulers as maxSessions, a new one triggers that
+// sweep. Given a QuizResultsLog, every answer in every session is recorded to it.
+public class QuizSessionManager {
+    private static final class UserScheduler {
+        final LeitnerScheduler scheduler;
+        volatile long lastAccessNanos;
+
+        UserScheduler(LeitnerScheduler scheduler) {
+            this.scheduler = scheduler;
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    private static final SecureRandom ID_RANDOM = new SecureRandom();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final QuizEngine engine;
+    private final QuizResultsLog resultsLog;
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final ConcurrentHashMap<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    // Sessions counted against maxSessions, including ones being created
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final ConcurrentHashMap<String, UserScheduler> schedulers = new ConcurrentHashMap<>();
+
+    public QuizSessionManager(QuizEngine engine, int maxSessions, Duration idleTimeout) {
+        this(engine, maxSessions, idleTimeout, null);
+    }
+
+    public QuizSessionManager(QuizEngine engine, int maxSessions, Duration idleTimeout,
+                              QuizResultsLog resultsLog) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("maxSessions must be at least 1");
+        }
+        this.engine = engine;
+        this.resultsLog = resultsLog;
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    // Throws IllegalStateException if the cap is reached and nothing is idle
+    public QuizSession start(int questionCount) {
+        return start(null, questionCount);
+    }
+
+    // A session with questions scheduled from userId's history (uniform if userId is null)
+    public QuizSession start(String userId, int questionCount) {
+        if (questionCount < 1 || questionCount > Quiz.MAX_QUESTIONS) {
+            throw new IllegalArgumentException("Question count must be between 1 and " + Quiz.MAX_QUESTIONS);
+        }
+        if (userId != null && schedulers.size() >= maxSessions && !schedulers.containsKey(userId)) {
+            evictIdle();
+        }
+        if (!reserve()) {
+            evictIdle();
+            if (!reserve()) {
+                throw new IllegalStateException("Too many quiz sessions (limit " + maxSessions + ")");
+            }
+        }
+        QuizSession session;
+        do {
+            session = new QuizSession(newId(), engine, questionCount, new Random(),
+                    userId != null ? getScheduler(userId) : null, userId, resultsLog);
+        } while (sessions.putIfAbsent(session.getId(), session) != null);
+        return session;
+    }
+
+    // The live session with this id, or null if there is none or it went idle
+    public QuizSession get(String id) {
+        QuizSession session = sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        if (isIdle(session, System.nanoTime())) {
+            remove(id, session);
+            return null;
+        }
+        return session;
+    }
+
+    public boolean end(String id) {
+        QuizSession session = sessions.get(id);
+        return session != null && remove(id, session);
+    }
+
+    // Removes every idle session, and the schedulers of users left without a
+    // live session that have been idle too, and returns how many sessions
+    // were removed
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        Set<String> activeUsers = new HashSet<>();
+        for (QuizSession session : sessions.values()) {
+            if (isIdle(session, now) && remove(session.getId(), session)) {
+                evicted++;
+            } else if (session.getUserId() != null) {
+                activeUsers.add(session.getUserId());
+            }
+        }
+        for (Map.Entry<String, UserScheduler> entry : schedulers.entrySet()) {
+            UserScheduler user = entry.getValue();
+            if (now - user.lastAccessNanos > idleTimeoutNanos && !activeUsers.contains(entry.getKey())) {
+                schedulers.remove(entry.getKey(), user);
+            }
+        }
+        return evicted;
+    }
+
+    public LeitnerScheduler getScheduler(String userId) {
+        UserScheduler user = schedulers.computeIfAbsent(userId,
+                id -> new UserScheduler(new LeitnerScheduler(engine.getQuestionCount())));
+        user.lastAccessNanos = System.nanoTime();
+        return user.scheduler;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    // Users whose scheduler is currently kept
+    public int schedulerCount() {
+        return schedulers.size();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    private boolean isIdle(QuizSession session, long now) {
+        return now - session.getLastAccessNanos() > idleTimeoutNanos;
+    }
+
+    private boolean remove(String id, QuizSession session) {
+        if (sessions.remove(id, session)) {
+            session.close();
+            reserved.decrementAndGet();
+            // The user's idle time runs from their last answer, not from when
+            // the session was started
+            UserScheduler user = session.getUserId() != null ? schedulers.get(session.getUserId()) : null;
+            if (user != null && session.getLastAccessNanos() - user.lastAccessNanos > 0) {
+                user.lastAccessNanos = session.getLastAccessNanos();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = reserved.get();
+            if (current >= maxSessions) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 128 random bits as hex, so ids can't be guessed
+    private static String newId() {
+        byte[] bytes = new byte[16];
+        ID_RANDOM.nextBytes(bytes);
+        char[] id = new char[32];
+        for (int i = 0; i < bytes.length; i++) {
+            id[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            id[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(id);
+    }
+}
@@ -0,0 +1,54 @@
+import java.time.Duration;
+
+// Behaviour checks for QuizSessionManager: idle sessions and the schedulers
+// of users who have gone idle are evicted, and schedulers in use are kept.
+//   java QuizSessionManagerCheck
+public class QuizSessionManagerCheck {
+    private static final long TIMEOUT_MILLIS = 300;
+
+    public static void main(String[] args) throws InterruptedException {
+        Checks checks = new Checks("QuizSessionManagerCheck");
+        QuizEngine engine = new QuizEngine(new PeriodicTable());
+        QuizSessionManager manager = new QuizSessionManager(engine, 3, Duration.ofMillis(TIMEOUT_MILLIS));
+
+        QuizSession ada = manager.start("ada", 5);
+        LeitnerScheduler adaScheduler = manager.getScheduler("ada");
+        checks.that(adaScheduler == manager.getScheduler("ada"), "a user keeps one scheduler");
+        checks.equal(1, manager.schedulerCount(), "one scheduler per user");
+
+        // A live session keeps its user's scheduler, however long ago it was looked up
+        Thread.sleep(TIMEOUT_MILLIS * 2 / 3);
+        ada.nextQuestion();
+        Thread.sleep(TIMEOUT_MILLIS * 2 / 3);
+        manager.evictIdle();
+        checks.equal(1, manager.size(), "a session in use is not idle");
+        checks.that(adaScheduler == manager.getScheduler("ada"), "a user with a live session keeps their scheduler");
+
+        // Once the session ends, the scheduler is kept until the user has been idle
+        manager.end(ada.getId());
+        manager.evictIdle();
+        checks.equal(1, manager.schedulerCount(), "a user who just finished keeps their scheduler");
+        Thread.sleep(TIMEOUT_MILLIS * 4 / 3);
+        manager.evictIdle();
+        checks.equal(0, manager.schedulerCount(), "an idle user's scheduler is evicted");
+        checks.that(adaScheduler != manager.getScheduler("ada"), "a returning user starts over");
+
+        // Idle sessions take their users' schedulers with them
+        manager.start("bob", 5);
+        Thread.sleep(TIMEOUT_MILLIS * 4 / 3);
+        checks.equal(1, manager.evictIdle(), "an idle session is evicted");
+        checks.equal(0, manager.schedulerCount(), "with its user's scheduler");
+
+        // Reaching maxSessions schedulers sweeps idle ones before adding another
+        for (int i = 0; i < 3; i++) {
+            manager.end(manager.start("user" + i, 5).getId());
+        }
+        checks.equal(3, manager.schedulerCount(), "ended users' schedulers are kept for now");
+        Thread.sleep(TIMEOUT_MILLIS * 4 / 3);
+        manager.start("user3", 5);
+        checks.equal(1, manager.schedulerCount(), "a new user sweeps idle schedulers once there are maxSessions");
+        manager.start(5);
+        checks.equal(1, manager.schedulerCount(), "anonymous sessions have no scheduler");
+        checks.finish();
+    }
+}
@@ -1,6 +1,7 @@
 import java.util.Scanner;
 
 public class SearchDisplay extends ElementDisplay {
+    private static final Metrics.Operation DISPLAY = Metrics.operation("SearchDisplay.display");
     private Scanner scanner;
 
     public SearchDisplay(PeriodicTable periodicTable, Scanner scanner) {
@@ -10,73 +11,84 @@ public class SearchDisplay extends ElementDisplay {
 
     @Override
     public void display() {
+        long start = Metrics.start();
         showHeader("SEARCH ELEMENTS");
         
-        System.out.println("Search by:");
-        System.out.println("1. Symbol");
-        System.out.println("2. Name");
-        System.out.println("3. Atomic Number");
-        System.out.println("4. Category");
-        System.out.print("\nEnter your choice: ");
+        console.println("Search by:");
+        console.println("1. Symbol");
+        console.println("2. Name");
+        console.println("3. Atomic Number");
+        console.println("4. Category");
+        console.print("\nEnter your choice: ");
         
-        int choice = scanner.nextInt();
-        scanner.nextLine(); // consume newline
+        int choice = readInt(scanner);
+        readLine(scanner); // consume newline
         
         Element[] results = null;
         
         switch (choice) {
             case 1:
-                System.out.print("Enter symbol: ");
-                String symbol = scanner.nextLine().trim();
+                console.print("Enter symbol: ");
+                String symbol = readLine(scanner).trim();
                 results = periodicTable.searchBySymbol(symbol);
                 break;
             case 2:
-                System.out.print("Enter name (partial match): ");
-                String name = scanner.nextLine().trim();
+                console.print("Enter name (partial match): ");
+                String name = readLine(scanner).trim();
                 results = periodicTable.searchByName(name);
+                if (results.length == 0 && !name.isEmpty()) {
+                    results = fuzzyMatcher().suggest(name, 5);
+                    if (results.length > 0) {
+                        console.println("\nNo names contain \"" + name + "\". Did you mean:");
+                    }
+                }
                 break;
             case 3:
-                System.out.print("Enter atomic number: ");
-                int num = scanner.nextInt();
+                console.print("Enter atomic number: ");
+                int num = readInt(scanner);
                 results = periodicTable.searchByAtomicNumber(num);
                 break;
             case 4:
-                System.out.print("Enter category: ");
-                String category = scanner.nextLine().trim();
+                console.print("Enter category: ");
+                String category = readLine(scanner).trim();
                 results = periodicTable.searchByCategory(category);
                 break;
             default:
-                System.out.println("Invalid choice!");
+                console.println("Invalid choice!");
+                console.flush();
+                DISPLAY.record(start, false);
                 return;
         }
         
         if (results != null && results.length > 0) {
-            System.out.println("\nSearch Results:");
+            console.println("\nSearch Results:");
             showSeparator();
             for (Element element : results) {
                 displayElementDetails(element);
             }
         } else {
-            System.out.println("\nNo elements found!");
+            console.println("\nNo elements found!");
         }
+        console.flush();
+        DISPLAY.record(start, results != null && results.length > 0);
     }
     
     private void displayElementDetails(Element element) {
-        System.out.println("\nElement Details:");
-        System.out.println("  Symbol: " + element.getSymbol());
-        System.out.println("  Name: " + element.getName());
-        System.out.println("  Atomic Number: " + element.getAtomicNumber());
-        System.out.println("  Atomic Weight: " + element.getAtomicWeight());
-        System.out.println("  Group: " + element.getGroup());
-        System.out.println("  Period: " + element.getPeriod());
-        System.out.println("  Category: " + element.getCategory());
-        System.out.println("  Description: " + element.getDescription());
+        console.println("\nElement Details:");
+        console.print("  Symbol: ").println(element.getSymbol());
+        console.print("  Name: ").println(element.getName());
+        console.print("  Atomic Number: ").print(element.getAtomicNumber()).println();
+        console.print("  Atomic Weight: ").print(element.getAtomicWeight()).println();
+        console.print("  Group: ").println(element.getGroup());
+        console.print("  Period: ").println(element.getPeriod());
+        console.print("  Category: ").println(element.getCategory());
+        console.print("  Description: ").println(element.getDescription());
         
         String[] uses = element.getUses();
         if (uses != null && uses.length > 0) {
-            System.out.println("  Uses:");
+            console.println("  Uses:");
             for (String use : uses) {
-                System.out.println("    - " + use);
+                console.print("    - ").println(use);
             }
         }
         showSeparator();
@@ -3,66 +3,37 @@ import java.util.Scanner;
 public class TableDisplay extends ElementDisplay implements ElementInfo {
     private Scanner scanner;
     private static final int ELEMENTS_PER_PAGE = 25;
+    private static final Metrics.Operation DISPLAY = Metrics.operation("TableDisplay.display");
+    private static final String COLUMN_HEADER = String.format("%-5s %-4s %-20s %-10s %-15s%n",
+                                                              "No.", "Sym", "Name", "Weight", "Category");
+
+    private final TablePageCache pageCache;
 
     public TableDisplay(PeriodicTable periodicTable, Scanner scanner) {
+        this(periodicTable, scanner, ELEMENTS_PER_PAGE);
+    }
+
+    public TableDisplay(PeriodicTable periodicTable, Scanner scanner, int elementsPerPage) {
         super(periodicTable);
         this.scanner = scanner;
+        this.pageCache = new TablePageCache(periodicTable, elementsPerPage, this::renderPage);
     }
 
     @Override
     public void display() {
-        Element[] elements = periodicTable.getAllElements();
-        
-        // Sort elements by atomic number to ensure proper order
-        java.util.Arrays.sort(elements, (e1, e2) -> 
-            Integer.compare(e1.getAtomicNumber(), e2.getAtomicNumber()));
-        
-        int totalElements = elements.length;
-        int totalPages = (int) Math.ceil((double) totalElements / ELEMENTS_PER_PAGE);
+        long start = Metrics.start();
         int currentPage = 1;
         
         boolean viewing = true;
         
         while (viewing) {
-            showHeader("PERIODIC TABLE - ALL ELEMENTS");
-            
-            System.out.printf("%-5s %-4s %-20s %-10s %-15s%n", 
-                             "No.", "Sym", "Name", "Weight", "Category");
-            showSeparator();
-            
-            int startIndex = (currentPage - 1) * ELEMENTS_PER_PAGE;
-            int endIndex = Math.min(startIndex + ELEMENTS_PER_PAGE, totalElements);
-            
-            for (int i = startIndex; i < endIndex; i++) {
-                Element element = elements[i];
-                System.out.printf("%-5d %-4s %-20s %-10.2f %-15s%n",
-                                element.getAtomicNumber(),
-                                element.getSymbol(),
-                                element.getName(),
-                                element.getAtomicWeight(),
-                                element.getCategory());
-            }
-            
-            System.out.println("\n" + "=".repeat(60));
-            System.out.printf("Page %d of %d | Showing elements %d-%d of %d%n", 
-                            currentPage, totalPages, startIndex + 1, endIndex, totalElements);
-            System.out.println("=".repeat(60));
+            // Pages never change unless the table does, so each one is rendered once
+            int totalPages = pageCache.pageCount();
+            currentPage = Math.max(1, Math.min(currentPage, totalPages));
+            console.write(pageCache.page(currentPage));
             
             if (totalPages > 1) {
-                System.out.println("\nNavigation:");
-                if (currentPage > 1) {
-                    System.out.println("  [P] Previous page");
-                }
-                if (currentPage < totalPages) {
-                    System.out.println("  [N] Next page");
-                }
-                System.out.println("  [F] First page");
-                System.out.println("  [L] Last page");
-                System.out.println("  [G] Go to specific page");
-                System.out.println("  [Q] Quit (return to menu)");
-                System.out.print("\nEnter your choice: ");
-                
-                String choice = scanner.nextLine().trim().toUpperCase();
+                String choice = readLine(scanner).trim().toUpperCase();
                 
                 switch (choice) {
                     case "P":
@@ -70,9 +41,9 @@ public class TableDisplay extends ElementDisplay implements ElementInfo {
                         if (currentPage > 1) {
                             currentPage--;
                         } else {
-                            System.out.println("\nAlready on first page!");
-                            System.out.print("Press Enter to continue...");
-                            scanner.nextLine();
+                            console.println("\nAlready on first page!");
+                            console.print("Press Enter to continue...");
+                            readLine(scanner);
                         }
                         break;
                     case "N":
@@ -80,9 +51,9 @@ public class TableDisplay extends ElementDisplay implements ElementInfo {
                         if (currentPage < totalPages) {
                             currentPage++;
                         } else {
-                            System.out.println("\nAlready on last page!");
-                            System.out.print("Press Enter to continue...");
-                            scanner.nextLine();
+                            console.println("\nAlready on last page!");
+                            console.print("Press Enter to continue...");
+                            readLine(scanner);
                         }
                         break;
                     case "F":
@@ -95,20 +66,20 @@ public class TableDisplay extends ElementDisplay implements ElementInfo {
                         break;
                     case "G":
                     case "GO":
-                        System.out.print("Enter page number (1-" + totalPages + "): ");
+                        console.print("Enter page number (1-" + totalPages + "): ");
                         try {
-                            int pageNum = Integer.parseInt(scanner.nextLine().trim());
+                            int pageNum = Integer.parseInt(readLine(scanner).trim());
                             if (pageNum >= 1 && pageNum <= totalPages) {
                                 currentPage = pageNum;
                             } else {
-                                System.out.println("\nInvalid page number! Please enter between 1 and " + totalPages);
-                                System.out.print("Press Enter to continue...");
-                                scanner.nextLine();
+                                console.println("\nInvalid page number! Please enter between 1 and " + totalPages);
+                                console.print("Press Enter to continue...");
+                                readLine(scanner);
                             }
                         } catch (NumberFormatException e) {
-                            System.out.println("\nInvalid input! Please enter a number.");
-                            System.out.print("Press Enter to continue...");
-                            scanner.nextLine();
+                            console.println("\nInvalid input! Please enter a number.");
+                            console.print("Press Enter to continue...");
+                            readLine(scanner);
                         }
                         break;
                     case "Q":
@@ -116,24 +87,76 @@ public class TableDisplay extends ElementDisplay implements ElementInfo {
                         viewing = false;
                         break;
                     default:
-                        System.out.println("\nInvalid choice! Please try again.");
-                        System.out.print("Press Enter to continue...");
-                        scanner.nextLine();
+                        console.println("\nInvalid choice! Please try again.");
+                        console.print("Press Enter to continue...");
+                        readLine(scanner);
                 }
             } else {
-                System.out.println("\n[Q] Quit (return to menu)");
-                System.out.print("Enter your choice: ");
-                String choice = scanner.nextLine().trim().toUpperCase();
+                String choice = readLine(scanner).trim().toUpperCase();
                 if (choice.equals("Q") || choice.equals("QUIT")) {
                     viewing = false;
                 }
             }
         }
+        console.flush();
+        DISPLAY.record(start, true);
+    }
+
+    // Everything shown for one page, up to and including the input prompt
+    private byte[] renderPage(int currentPage, int totalPages, int pageSize) {
+        // The page is read back with toBytes, so nothing else may be pending
+        console.flush();
+        // Already in atomic-number order, no copy or sort needed
+        java.util.List<Element> elements = periodicTable.elements();
+        int totalElements = elements.size();
+        
+        showHeader("PERIODIC TABLE - ALL ELEMENTS");
+        
+        console.print(COLUMN_HEADER);
+        showSeparator();
+        
+        int startIndex = (currentPage - 1) * pageSize;
+        int endIndex = Math.min(startIndex + pageSize, totalElements);
+        
+        for (int i = startIndex; i < endIndex; i++) {
+            Element element = elements.get(i);
+            console.printf("%-5d %-4s %-20s %-10.2f %-15s%n",
+                            element.getAtomicNumber(),
+                            element.getSymbol(),
+                            element.getName(),
+                            element.getAtomicWeight(),
+                            element.getCategory());
+        }
+        
+        console.println().println(RULE);
+        console.printf("Page %d of %d | Showing elements %d-%d of %d%n", 
+                        currentPage, totalPages, startIndex + 1, endIndex, totalElements);
+        console.println(RULE);
+        
+        if (totalPages > 1) {
+            console.println("\nNavigation:");
+            if (currentPage > 1) {
+                console.println("  [P] Previous page");
+            }
+            if (currentPage < totalPages) {
+                console.println("  [N] Next page");
+            }
+            console.println("  [F] First page");
+            console.println("  [L] Last page");
+            console.println("  [G] Go to specific page");
+            console.println("  [Q] Quit (return to menu)");
+            console.print("\nEnter your choice: ");
+        } else {
+            console.println("\n[Q] Quit (return to menu)");
+            console.print("Enter your choice: ");
+        }
+        return console.toBytes();
     }
 
     @Override
     public void displayInfo(Element element) {
-        System.out.println(element.toString());
+        console.println(element.toString());
+        console.flush();
     }
 
     @Override
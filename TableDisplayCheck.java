@@ -0,0 +1,39 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+// Behaviour checks for TableDisplay: displayInfo prints straight away, and
+// cached pages hold only their own output.
+//   java TableDisplayCheck
+public class TableDisplayCheck {
+    public static void main(String[] args) {
+        Checks checks = new Checks("TableDisplayCheck");
+        PeriodicTable table = new PeriodicTable();
+        Element iron = table.findBySymbol("Fe");
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        String info;
+        String first;
+        String second;
+        try {
+            System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+            TableDisplay display = new TableDisplay(table, new Scanner("Q\nQ\n"));
+            display.displayInfo(iron);
+            info = captured.toString(StandardCharsets.UTF_8);
+            captured.reset();
+            display.display();
+            first = captured.toString(StandardCharsets.UTF_8);
+            captured.reset();
+            display.display();
+            second = captured.toString(StandardCharsets.UTF_8);
+        } finally {
+            System.setOut(stdout);
+        }
+        checks.equal(iron.toString() + System.lineSeparator(), info, "displayInfo prints straight away");
+        checks.that(!first.contains(iron.toString()), "and isn't repeated by the next display");
+        checks.that(second.contains("Page 1 of"), "the cached page is shown again");
+        checks.that(!second.contains(iron.toString()), "the cached page holds only its own output");
+        checks.finish();
+    }
+}
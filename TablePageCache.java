@@ -0,0 +1,61 @@
+// Rendered pages of the element table, kept as encoded bytes so paging back
+// and forth is a plain write. Pages are rendered lazily on first view and
+// dropped when the table's version changes (e.g. after addElement) or when
+// invalidate() is called.
+public class TablePageCache {
+    public interface PageRenderer {
+        // Renders page (1-based) of pageCount and returns its encoded bytes
+        byte[] render(int page, int pageCount, int pageSize);
+    }
+
+    private final PeriodicTable periodicTable;
+    private final int pageSize;
+    private final PageRenderer renderer;
+    private byte[][] pages;
+    private int pageCount;
+    private int tableVersion = -1;
+
+    public TablePageCache(PeriodicTable periodicTable, int pageSize, PageRenderer renderer) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        this.periodicTable = periodicTable;
+        this.pageSize = pageSize;
+        this.renderer = renderer;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int pageCount() {
+        checkVersion();
+        return pageCount;
+    }
+
+    public byte[] page(int page) {
+        checkVersion();
+        // An empty table still has a (blank) first page
+        if (page < 1 || page > pages.length) {
+            throw new IndexOutOfBoundsException("Page " + page + " of " + pageCount);
+        }
+        byte[] rendered = pages[page - 1];
+        if (rendered == null) {
+            rendered = renderer.render(page, pageCount, pageSize);
+            pages[page - 1] = rendered;
+        }
+        return rendered;
+    }
+
+    public void invalidate() {
+        tableVersion = -1;
+    }
+
+    private void checkVersion() {
+        if (tableVersion != periodicTable.getVersion()) {
+            pageCount = (periodicTable.getSize() + pageSize - 1) / pageSize;
+            pages = new byte[Math.max(pageCount, 1)][];
+            tableVersion = periodicTable.getVersion();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+// Atomic weights sorted ascending, with the table slot of each, for range and
+// nearest-mass queries by binary search (e.g. mass-spec peak matching).
+// Elements whose weight is NaN are left out.
+//
+// Batch lookups over ascending masses walk the index alongside the input
+// (a merge join) instead of searching per mass, and write into caller
+// arrays, so nothing is allocated per query. Read-only once built.
+public class WeightIndex {
+    private final double[] weights;
+    private final int[] slots;
+
+    public WeightIndex(PeriodicTable periodicTable) {
+        Integer[] order = new Integer[periodicTable.getSize()];
+        int count = 0;
+        for (int slot = 0; slot < order.length; slot++) {
+            if (!Double.isNaN(periodicTable.elementAt(slot).getAtomicWeight())) {
+                order[count++] = slot;
+            }
+        }
+        order = Arrays.copyOf(order, count);
+        // Equal weights stay in slot order
+        Arrays.sort(order, (a, b) -> Double.compare(periodicTable.elementAt(a).getAtomicWeight(),
+                periodicTable.elementAt(b).getAtomicWeight()));
+        this.weights = new double[count];
+        this.slots = new int[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = order[i];
+            weights[i] = periodicTable.elementAt(order[i]).getAtomicWeight();
+        }
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    // Weight and slot at a position in ascending weight order
+    public double weightAt(int position) {
+        return weights[position];
+    }
+
+    public int slotAt(int position) {
+        return slots[position];
+    }
+
+    // First position whose weight is >= weight
+    public int lowerBound(double weight) {
+        int low = 0;
+        int high = weights.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (weights[middle] < weight) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // First position whose weight is > weight
+    public int upperBound(double weight) {
+        int low = 0;
+        int high = weights.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (weights[middle] <= weight) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int countRange(double min, double max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    // Slots with min <= weight <= max into out, lightest first; returns the count.
+    // out needs room for countRange(min, max) slots.
+    public int range(double min, double max, int[] out) {
+        int from = lowerBound(min);
+        int count = Math.max(0, upperBound(max) - from);
+        System.arraycopy(slots, from, out, 0, count);
+        return count;
+    }
+
+    // Slot of the element whose weight is closest to mass (the lighter one on
+    // a tie), or -1 if the index is empty
+    public int nearest(double mass) {
+        if (weights.length == 0 || Double.isNaN(mass)) {
+            return -1;
+        }
+        return slots[closerOf(lowerBound(mass), mass)];
+    }
+
+    // Like nearest, but -1 if the closest element is more than tolerance away
+    public int nearestWithin(double mass, double tolerance) {
+        if (weights.length == 0 || Double.isNaN(mass)) {
+            return -1;
+        }
+        int best = closerOf(lowerBound(mass), mass);
+        return Math.abs(weights[best] - mass) <= tolerance ? slots[best] : -1;
+    }
+
+    // For each masses[i], writes the slot of the nearest element within
+    // tolerance into out[i], or -1. Ascending masses are merged against the
+    // index in one pass; otherwise each mass is binary searched.
+    // Pass Double.POSITIVE_INFINITY to always take the nearest.
+    public void matchPeaks(double[] masses, double tolerance, int[] out) {
+        if (weights.length == 0) {
+            Arrays.fill(out, 0, masses.length, -1);
+            return;
+        }
+        if (!isAscending(masses)) {
+            for (int i = 0; i < masses.length; i++) {
+                out[i] = nearestWithin(masses[i], tolerance);
+            }
+            return;
+        }
+        int last = weights.length - 1;
+        int position = 0;
+        for (int i = 0; i < masses.length; i++) {
+            double mass = masses[i];
+            if (Double.isNaN(mass)) {
+                out[i] = -1;
+                continue;
+            }
+            // Advance to the first weight >= mass, as lowerBound would find
+            while (position <= last && weights[position] < mass) {
+                position++;
+            }
+            int best = closerOf(position, mass);
+            out[i] = Math.abs(weights[best] - mass) <= tolerance ? slots[best] : -1;
+        }
+    }
+
+    // Of the positions either side of lowerBound(mass), the closer one
+    private int closerOf(int lowerBound, double mass) {
+        if (lowerBound == weights.length) {
+            return lowerBound - 1;
+        }
+        if (lowerBound == 0) {
+            return 0;
+        }
+        return mass - weights[lowerBound - 1] <= weights[lowerBound] - mass ? lowerBound - 1 : lowerBound;
+    }
+
+    // NaNs don't break the order; they never match
+    private static boolean isAscending(double[] values) {
+        double previous = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            if (value < previous) {
+                return false;
+            }
+            if (!Double.isNaN(value)) {
+                previous = value;
+            }
+        }
+        return true;
+    }
+}
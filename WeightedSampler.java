@@ -0,0 +1,85 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Draws indexes with probability proportional to their integer weights.
+// Weights live in a Fenwick (binary indexed) tree, so both changing a weight
+// and drawing an index take O(log n), and the pool can grow without
+// rebuilding anything but the tree. Not thread-safe.
+public class WeightedSampler {
+    private int[] weights;
+    // 1-based Fenwick tree over weights
+    private long[] tree;
+    private long total;
+
+    public WeightedSampler(int size) {
+        this.weights = new int[size];
+        this.tree = new long[size + 1];
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    public int weight(int index) {
+        return weights[index];
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void set(int index, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight " + weight);
+        }
+        long delta = weight - weights[index];
+        if (delta == 0) {
+            return;
+        }
+        weights[index] = weight;
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Grows the pool; new indexes start with weight 0
+    public void resize(int newSize) {
+        if (newSize <= weights.length) {
+            return;
+        }
+        weights = Arrays.copyOf(weights, newSize);
+        tree = new long[newSize + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    // A random index, or -1 if every weight is 0
+    public int sample(Random random) {
+        if (total == 0) {
+            return -1;
+        }
+        long target = total <= Integer.MAX_VALUE
+                ? random.nextInt((int) total)
+                : (random.nextLong() >>> 1) % total;
+        return find(target);
+    }
+
+    // Index whose slice of the cumulative weights contains target (0 <= target < total)
+    int find(long target) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(weights.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return position;
+    }
+}